@@ -0,0 +1,199 @@
+package edu.neu.csye7374.adapter;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventManagerAPI;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports from several {@link ExternalEventAdapter}s at once, so a full
+ * import takes about as long as the slowest source rather than the sum of
+ * all of them.
+ *
+ * Sources run on a bounded pool of daemon threads that exit when idle. Each
+ * source gets its own timeout, counted from when it starts running; a source
+ * that overruns is cancelled (its thread interrupted) and its events are
+ * discarded, as are those of a source that throws, without affecting the
+ * others. The events of the remaining sources are added in one
+ * {@link EventManagerAPI#addAllEvents} batch, in adapter order, so a later
+ * source still wins when two share an event ID.
+ */
+public class ExternalImportCoordinator {
+
+    private static final long IDLE_THREAD_SECONDS = 30;
+    // nanoTime() may be any value, zero and negatives included, so "not yet" sits at the far end
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    /**
+     * @param maxParallel sources imported at the same time
+     * @param perSourceTimeout longest a single source may take
+     */
+    public ExternalImportCoordinator(int maxParallel, Duration perSourceTimeout) {
+        if (maxParallel < 1 || perSourceTimeout.isNegative() || perSourceTimeout.isZero()) {
+            throw new IllegalArgumentException("Parallelism and timeout must be positive");
+        }
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxParallel, maxParallel,
+                IDLE_THREAD_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "importer-" + count.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeoutNanos = perSourceTimeout.toNanos();
+    }
+
+    /**
+     * Outcome of one {@link #importAll} run
+     */
+    public static final class ImportReport {
+        private final int importedCount;
+        private final Map<String, Integer> eventsBySource;
+        private final Map<String, String> failures;
+
+        ImportReport(int importedCount, Map<String, Integer> eventsBySource, Map<String, String> failures) {
+            this.importedCount = importedCount;
+            this.eventsBySource = Collections.unmodifiableMap(eventsBySource);
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return events added to the manager
+         */
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        /**
+         * @return events fetched per source that completed in time
+         */
+        public Map<String, Integer> getEventsBySource() {
+            return eventsBySource;
+        }
+
+        /**
+         * @return why each failed or timed-out source was skipped
+         */
+        public Map<String, String> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return "ImportReport{imported=" + importedCount + ", sources=" + eventsBySource
+                    + ", failures=" + failures + '}';
+        }
+    }
+
+    /**
+     * Import from all adapters concurrently and add what arrived in one batch.
+     * If the calling thread is interrupted, all sources are cancelled and
+     * nothing is added.
+     */
+    public ImportReport importAll(List<? extends ExternalEventAdapter> adapters, EventManagerAPI manager) {
+        int sources = adapters.size();
+        List<List<EventAPI>> results = new ArrayList<>(Collections.nCopies(sources, null));
+        Map<String, String> failures = new LinkedHashMap<>();
+        // When each source started running, NOT_STARTED until then
+        AtomicLong[] started = new AtomicLong[sources];
+        Map<Future<List<EventAPI>>, Integer> pending = new IdentityHashMap<>();
+
+        CompletionService<List<EventAPI>> completion = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < sources; i++) {
+            ExternalEventAdapter adapter = adapters.get(i);
+            AtomicLong start = started[i] = new AtomicLong(NOT_STARTED);
+            pending.put(completion.submit(() -> {
+                start.set(System.nanoTime());
+                return adapter.importEvents();
+            }), i);
+        }
+
+        try {
+            while (!pending.isEmpty()) {
+                Future<List<EventAPI>> done = completion.poll(cancelOverdue(pending, started, adapters, failures),
+                        TimeUnit.NANOSECONDS);
+                Integer source = done != null ? pending.remove(done) : null;
+                if (source == null) {
+                    continue;
+                }
+                try {
+                    List<EventAPI> events = done.get();
+                    results.set(source, events != null ? events : Collections.emptyList());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    failures.put(adapters.get(source).getSourceName(), String.valueOf(cause.getMessage()));
+                } catch (CancellationException e) {
+                    // Already recorded as timed out
+                }
+            }
+        } catch (InterruptedException e) {
+            pending.keySet().forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            return new ImportReport(0, new LinkedHashMap<>(), failures);
+        }
+
+        Map<String, Integer> eventsBySource = new LinkedHashMap<>();
+        List<EventAPI> batch = new ArrayList<>();
+        for (int i = 0; i < sources; i++) {
+            List<EventAPI> events = results.get(i);
+            if (events != null) {
+                eventsBySource.merge(adapters.get(i).getSourceName(), events.size(), Integer::sum);
+                batch.addAll(events);
+            }
+        }
+        int imported = batch.isEmpty() ? 0 : manager.addAllEvents(batch);
+        return new ImportReport(imported, eventsBySource, failures);
+    }
+
+    /**
+     * Cancel running sources past their timeout
+     * @return nanoseconds until the next running source times out
+     */
+    private long cancelOverdue(Map<Future<List<EventAPI>>, Integer> pending, AtomicLong[] started,
+                               List<? extends ExternalEventAdapter> adapters, Map<String, String> failures) {
+        long now = System.nanoTime();
+        long wait = timeoutNanos;
+        List<Future<List<EventAPI>>> overdue = new ArrayList<>();
+        for (Map.Entry<Future<List<EventAPI>>, Integer> entry : pending.entrySet()) {
+            long start = started[entry.getValue()].get();
+            if (start == NOT_STARTED) {
+                continue;
+            }
+            long left = start + timeoutNanos - now;
+            if (left <= 0) {
+                overdue.add(entry.getKey());
+            } else {
+                wait = Math.min(wait, left);
+            }
+        }
+        for (Future<List<EventAPI>> future : overdue) {
+            // A source that finished just now is collected as usual
+            if (!future.cancel(true)) {
+                continue;
+            }
+            int source = pending.remove(future);
+            failures.put(adapters.get(source).getSourceName(),
+                    "timed out after " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+        }
+        return wait;
+    }
+}
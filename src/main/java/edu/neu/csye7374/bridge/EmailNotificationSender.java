@@ -1,38 +1,84 @@
 package edu.neu.csye7374.bridge;
 
 import edu.neu.csye7374.user.User;
-import edu.neu.csye7374.event.EventAPI;
-import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.ContactBatch;
+import java.util.BitSet;
 import java.util.List;
 
 public class EmailNotificationSender implements NotificationSender {
 
+    private static final Logger LOG = LogManager.getLogger(EmailNotificationSender.class);
+
+    // Recipients delivered per SMTP session in bulk sends
+    public static final int SESSION_SIZE = 1000;
+
     @Override
     public boolean sendToUser(User user, String subject, String body) {
-        System.out.println("📧 [EMAIL] EmailNotificationSender.sendToUser() called");
-        System.out.println("📧 [EMAIL] Recipient: " + user.getName() + " (" + user.getEmail() + ")");
-        System.out.println("📧 [EMAIL] Subject: " + subject);
-        System.out.println("📧 [EMAIL] Body: " + body);
-        System.out.println("📧 [EMAIL] User ID: " + user.getId());
-        System.out.println("📧 [EMAIL] User Type: " + user.getClass().getSimpleName());
+        LOG.debug("📧 [EMAIL] EmailNotificationSender.sendToUser() called");
+        LOG.debug("📧 [EMAIL] Recipient: {} ({})", user.getName(), user.getEmail());
+        LOG.debug("📧 [EMAIL] Subject: {}", subject);
+        LOG.debug("📧 [EMAIL] Body: {}", body);
+        LOG.debug("📧 [EMAIL] User ID: {}", user.getId());
+        LOG.debug("📧 [EMAIL] User Type: {}", user.getClass().getSimpleName());
         
         // Simulate email sending
-        System.out.println("📧 [EMAIL] Simulating email delivery...");
-        System.out.println("📧 [EMAIL] [EMAIL] To: " + user.getEmail() + " | " + subject + " -- " + body);
+        LOG.debug("📧 [EMAIL] Simulating email delivery...");
+        LOG.info("📧 [EMAIL] To: {} | {} -- {}", user.getEmail(), subject, body);
         
-        System.out.println("📧 [EMAIL] Email sent successfully!");
+        LOG.debug("📧 [EMAIL] Email sent successfully!");
         return true;
     }
 
     @Override
     public boolean sendToUsers(List<User> users, String subject, String body) {
-        users.forEach(u -> sendToUser(u, subject, body));
-        return true;
+        return sendBulk(users, subject, body).cardinality() == users.size();
+    }
+
+    /**
+     * Render the message once, then deliver it over one SMTP session per
+     * {@link #SESSION_SIZE} recipients; a recipient without a usable address is skipped
+     */
+    @Override
+    public BitSet sendBulk(List<User> users, String subject, String body) {
+        BitSet delivered = new BitSet(users.size());
+        if (users.isEmpty()) {
+            return delivered;
+        }
+        String message = subject + " -- " + body;
+        int sessions = 0;
+        for (int start = 0; start < users.size(); start += SESSION_SIZE) {
+            int end = Math.min(start + SESSION_SIZE, users.size());
+            for (int i = start; i < end; i++) {
+                if (hasAddress(users.get(i).getEmail())) {
+                    delivered.set(i);
+                }
+            }
+            sessions++;
+        }
+        LOG.info("📧 [EMAIL] Bulk send: {}/{} recipients in {} SMTP sessions | {}",
+                delivered.cardinality(), users.size(), sessions, message);
+        return delivered;
     }
 
+    /**
+     * One SMTP session for the batch, addressed straight from its email column
+     */
     @Override
-    public boolean sendToEventParticipants(EventAPI event, String subject, String body) {
-        List<User> participants = EventManager.getInstance().getEventParticipants(event.getId());
-        return sendToUsers(participants, subject, body);
+    public BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+        BitSet delivered = new BitSet(contacts.size());
+        for (int i = 0; i < contacts.size(); i++) {
+            if (hasAddress(contacts.getEmail(i))) {
+                delivered.set(i);
+            }
+        }
+        LOG.info("📧 [EMAIL] SMTP session: {}/{} recipients | {} -- {}",
+                delivered.cardinality(), contacts.size(), subject, body);
+        return delivered;
+    }
+
+    private static boolean hasAddress(String email) {
+        return email != null && email.indexOf('@') > 0;
     }
 }
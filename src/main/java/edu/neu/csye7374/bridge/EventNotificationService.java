@@ -2,30 +2,69 @@ package edu.neu.csye7374.bridge;
 
 import edu.neu.csye7374.user.User;
 import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.RecipientCursor;
+import edu.neu.csye7374.template.NotificationTemplates;
+import edu.neu.csye7374.template.TemplateEngine;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 public class EventNotificationService extends NotificationServiceBridge {
 
-    public EventNotificationService(NotificationSender sender) { super(sender); }
+    private static final Logger LOG = LogManager.getLogger(EventNotificationService.class);
+
+    // Optional; without one the async methods send on the caller's thread
+    private volatile NotificationDispatcher dispatcher;
+    private final TemplateEngine templates = TemplateEngine.getInstance();
+    private volatile Locale locale = Locale.getDefault();
+
+    // Opens a cursor over an event's registered users, by event id
+    private final Function<String, RecipientCursor> participants;
+
+    /**
+     * Resolves participants through the global {@link EventManager}
+     */
+    public EventNotificationService(NotificationSender sender) {
+        this(sender, eventId -> EventManager.getInstance().recipients(eventId));
+    }
+
+    /**
+     * @param participants opens a cursor over an event's registered users, by event id
+     */
+    public EventNotificationService(NotificationSender sender, Function<String, RecipientCursor> participants) {
+        super(sender);
+        this.participants = participants;
+    }
+
+    public void setDispatcher(NotificationDispatcher dispatcher) { this.dispatcher = dispatcher; }
+
+    /**
+     * Locale the domain helpers render their messages in
+     */
+    public void setLocale(Locale locale) { this.locale = locale; }
 
     @Override
     public boolean notifyUser(User user, String subject, String body) {
-        System.out.println("🌉 [BRIDGE] EventNotificationService.notifyUser() called");
-        System.out.println("🌉 [BRIDGE] User: " + user.getName() + " (" + user.getEmail() + ")");
-        System.out.println("🌉 [BRIDGE] Subject: " + subject);
-        System.out.println("🌉 [BRIDGE] Body: " + body);
-        System.out.println("🌉 [BRIDGE] Notification sender type: " + sender.getClass().getSimpleName());
+        LOG.debug("🌉 [BRIDGE] EventNotificationService.notifyUser() called");
+        LOG.debug("🌉 [BRIDGE] User: {} ({})", user.getName(), user.getEmail());
+        LOG.debug("🌉 [BRIDGE] Subject: {}", subject);
+        LOG.debug("🌉 [BRIDGE] Body: {}", body);
+        LOG.debug("🌉 [BRIDGE] Notification sender type: {}", sender.getClass().getSimpleName());
         
-        System.out.println("🌉 [BRIDGE] Calling sender.sendToUser()...");
+        LOG.debug("🌉 [BRIDGE] Calling sender.sendToUser()...");
         boolean result = sender.sendToUser(user, subject, body);
         
-        System.out.println("🌉 [BRIDGE] sender.sendToUser() returned: " + result);
+        LOG.debug("🌉 [BRIDGE] sender.sendToUser() returned: {}", result);
         return result;
     }
 
     @Override
     public boolean notifyEventParticipants(EventAPI event, String subject, String body) {
-        return sender.sendToEventParticipants(event, subject, body);
+        return sender.sendToRecipients(participants.apply(event.getId()), subject, body);
     }
 
     @Override
@@ -33,18 +72,54 @@ public class EventNotificationService extends NotificationServiceBridge {
         return sender.sendToUsers(users, subject, body);
     }
 
+    /**
+     * Queue a notification on the dispatcher through the current sender
+     * @return completes once the sender has delivered it
+     */
+    public CompletableFuture<Boolean> notifyUserAsync(User user, String subject, String body) {
+        NotificationDispatcher current = dispatcher;
+        if (current == null) {
+            try {
+                return CompletableFuture.completedFuture(sender.sendToUser(user, subject, body));
+            } catch (RuntimeException e) {
+                CompletableFuture<Boolean> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+        return current.submit(sender, user, subject, body);
+    }
+
     // domain-friendly helpers
     public boolean sendRegistrationConfirmation(User user, EventAPI event) {
         return notifyUser(user,
-            "Registration Confirmed: " + event.getTitle(),
-            "You're registered for " + event.getTitle() + " on " + event.getDate()
+            render(NotificationTemplates.REGISTRATION_CONFIRMED_SUBJECT, event.getTitle()),
+            render(NotificationTemplates.REGISTRATION_CONFIRMED_BODY, event.getTitle(), event.getDate())
         );
     }
 
     public boolean sendEventCreatedNotification(EventAPI event) {
         return notifyEventParticipants(event,
-            "New Event: " + event.getTitle(),
-            "An event has been created: " + event.getDescription()
+            render(NotificationTemplates.EVENT_CREATED_SUBJECT, event.getTitle()),
+            render(NotificationTemplates.EVENT_CREATED_BODY, event.getDescription())
         );
     }
+
+    public CompletableFuture<Boolean> sendRegistrationConfirmationAsync(User user, EventAPI event) {
+        return notifyUserAsync(user,
+            render(NotificationTemplates.REGISTRATION_CONFIRMED_SUBJECT, event.getTitle()),
+            render(NotificationTemplates.REGISTRATION_CONFIRMED_BODY, event.getTitle(), event.getDate())
+        );
+    }
+
+    public CompletableFuture<Boolean> sendCancellationConfirmationAsync(User user, EventAPI event) {
+        return notifyUserAsync(user,
+            render(NotificationTemplates.REGISTRATION_CANCELLED_SUBJECT),
+            render(NotificationTemplates.REGISTRATION_CANCELLED_BODY, event.getTitle())
+        );
+    }
+
+    private String render(String key, Object... args) {
+        return templates.render(locale, key, args);
+    }
 }
@@ -0,0 +1,258 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.user.User;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers notifications off the caller's thread.
+ *
+ * Callers enqueue into one bounded queue and get a future for the delivery
+ * result right away; when the queue is full, {@link #submit} blocks until
+ * the workers catch up, so a burst slows producers down instead of growing
+ * memory without limit. Each worker takes whatever is queued (up to a batch)
+ * in one go, groups it by {@link NotificationSender}, and hands every run of
+ * recipients that share a subject and body to the sender as one
+ * {@link NotificationSender#sendBulk} call, whose per-recipient results
+ * complete the individual futures. Workers are virtual threads
+ * when the JDK has them and daemon platform threads otherwise.
+ */
+public class NotificationDispatcher implements Closeable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final List<Thread> workers;
+    private final LongAdder delivered;
+    private final LongAdder failed;
+    private volatile boolean closed;
+
+    /**
+     * One queued message and the future its caller is waiting on
+     */
+    private static final class Notification {
+        final NotificationSender sender;
+        final User user;
+        final String subject;
+        final String body;
+        final CompletableFuture<Boolean> result;
+
+        Notification(NotificationSender sender, User user, String subject, String body) {
+            this.sender = sender;
+            this.user = user;
+            this.subject = subject;
+            this.body = body;
+            this.result = new CompletableFuture<>();
+        }
+
+        boolean sameMessage(Notification other) {
+            return subject.equals(other.subject) && body.equals(other.body);
+        }
+    }
+
+    public NotificationDispatcher() {
+        this(DEFAULT_CAPACITY, Math.max(2, Runtime.getRuntime().availableProcessors()), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param capacity queued notifications before submit() starts blocking
+     * @param workerCount threads draining the queue
+     * @param batchSize most notifications a worker takes at once
+     */
+    public NotificationDispatcher(int capacity, int workerCount, int batchSize) {
+        if (capacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity, worker count and batch size must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.delivered = new LongAdder();
+        this.failed = new LongAdder();
+        this.workers = new ArrayList<>(workerCount);
+        ThreadFactory factory = workerFactory();
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = factory.newThread(this::drainLoop);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queue a notification, blocking while the queue is full
+     * @return completes with the sender's result, or exceptionally if the send threw
+     */
+    public CompletableFuture<Boolean> submit(NotificationSender sender, User user, String subject, String body) {
+        Notification notification = new Notification(sender, user,
+                subject != null ? subject : "", body != null ? body : "");
+        if (closed) {
+            return rejected(notification);
+        }
+        try {
+            // Wait for room in slices, so a close() meanwhile is noticed instead of blocking forever
+            while (!queue.offer(notification, 100, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    return rejected(notification);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            notification.result.completeExceptionally(e);
+            return notification.result;
+        }
+        // close() may have run its final drain between the check above and the offer;
+        // if no worker or drain has taken the notification since, it would never complete
+        if (closed && queue.remove(notification)) {
+            return rejected(notification);
+        }
+        return notification.result;
+    }
+
+    private static CompletableFuture<Boolean> rejected(Notification notification) {
+        notification.result.completeExceptionally(new IllegalStateException("Notification dispatcher is closed"));
+        return notification.result;
+    }
+
+    /**
+     * @return notifications waiting for a worker
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Stop accepting notifications and wait for the queued ones to be delivered
+     */
+    @Override
+    public void close() {
+        closed = true;
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // Anything a producer slipped in after the workers left is never sent
+        List<Notification> orphans = new ArrayList<>();
+        queue.drainTo(orphans);
+        for (Notification notification : orphans) {
+            rejected(notification);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== WORKERS ====================
+
+    private void drainLoop() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        Map<NotificationSender, List<Notification>> bySender = new IdentityHashMap<>();
+        while (true) {
+            Notification first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            for (Notification notification : batch) {
+                bySender.computeIfAbsent(notification.sender, s -> new ArrayList<>()).add(notification);
+            }
+            for (Map.Entry<NotificationSender, List<Notification>> group : bySender.entrySet()) {
+                deliver(group.getKey(), group.getValue());
+            }
+            batch.clear();
+            bySender.clear();
+        }
+    }
+
+    /**
+     * Send one sender's share of a batch, one bulk send per run of identical messages
+     */
+    private void deliver(NotificationSender sender, List<Notification> notifications) {
+        int start = 0;
+        while (start < notifications.size()) {
+            Notification head = notifications.get(start);
+            int end = start + 1;
+            while (end < notifications.size() && head.sameMessage(notifications.get(end))) {
+                end++;
+            }
+            List<Notification> run = notifications.subList(start, end);
+            try {
+                if (run.size() == 1) {
+                    complete(head, sender.sendToUser(head.user, head.subject, head.body));
+                } else {
+                    List<User> users = new ArrayList<>(run.size());
+                    for (Notification notification : run) {
+                        users.add(notification.user);
+                    }
+                    BitSet sent = sender.sendBulk(users, head.subject, head.body);
+                    for (int i = 0; i < run.size(); i++) {
+                        complete(run.get(i), sent.get(i));
+                    }
+                }
+            } catch (RuntimeException e) {
+                failed.add(run.size());
+                for (Notification notification : run) {
+                    notification.result.completeExceptionally(e);
+                }
+            }
+            start = end;
+        }
+    }
+
+    private void complete(Notification notification, boolean sent) {
+        (sent ? delivered : failed).increment();
+        notification.result.complete(sent);
+    }
+
+    /**
+     * Virtual threads when the running JDK has them (looked up reflectively so
+     * this still compiles for older releases), named daemon threads otherwise
+     */
+    private static ThreadFactory workerFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "notifier-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            return r -> {
+                Thread thread = new Thread(r, "notifier-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -2,10 +2,61 @@ package edu.neu.csye7374.bridge;
 
 import edu.neu.csye7374.user.User;
 import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.ContactBatch;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.RecipientCursor;
+import java.util.BitSet;
 import java.util.List;
 
 public interface NotificationSender {
+
+    // Recipients per batch when fanning out to an event's participants
+    int PARTICIPANT_BATCH_SIZE = 1000;
+
     boolean sendToUser(User user, String subject, String body);
     boolean sendToUsers(List<User> users, String subject, String body);
-    boolean sendToEventParticipants(EventAPI event, String subject, String body);
+
+    /**
+     * Send to an event's registered users, as found in the global {@link EventManager};
+     * {@link EventNotificationService} goes through its own participant source instead
+     */
+    default boolean sendToEventParticipants(EventAPI event, String subject, String body) {
+        return sendToRecipients(EventManager.getInstance().recipients(event.getId()), subject, body);
+    }
+
+    /**
+     * Stream a cursor's recipients through {@link #sendToContacts}
+     * in batches, reusing one batch throughout
+     * @return true if every recipient was delivered to
+     */
+    default boolean sendToRecipients(RecipientCursor cursor, String subject, String body) {
+        ContactBatch batch = new ContactBatch(PARTICIPANT_BATCH_SIZE);
+        boolean all = true;
+        while (cursor.next(batch)) {
+            all &= sendToContacts(batch, subject, body).cardinality() == batch.size();
+        }
+        return all;
+    }
+
+    /**
+     * Send the same message to many users
+     * @return bit i is set if users.get(i) was delivered to
+     */
+    default BitSet sendBulk(List<User> users, String subject, String body) {
+        BitSet delivered = new BitSet(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (sendToUser(users.get(i), subject, body)) {
+                delivered.set(i);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Send the same message to one batch of contact records
+     * @return bit i is set if the batch's i-th contact was delivered to
+     */
+    default BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+        return sendBulk(contacts.asUsers(), subject, body);
+    }
 }
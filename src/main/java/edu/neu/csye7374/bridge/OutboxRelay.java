@@ -0,0 +1,178 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.persistence.NotificationOutbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Drains a {@link NotificationOutbox} on a background thread.
+ *
+ * Each released entry is first checked against the current state (a
+ * registration confirmation is only sent while the user is still
+ * registered); entries that no longer hold are dropped. The rest are handed
+ * to the delivery function, and an entry is marked delivered once its future
+ * completes with true. A failed or throwing delivery is retried with
+ * exponential backoff plus jitter, and dropped after too many attempts.
+ * An entry is only ever in flight once, so a slow send is never duplicated
+ * by the next pass.
+ */
+public class OutboxRelay implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(OutboxRelay.class);
+
+    public static final long INITIAL_BACKOFF_MILLIS = 200;
+    public static final long MAX_BACKOFF_MILLIS = 60_000;
+    public static final int MAX_ATTEMPTS = 10;
+
+    // Longest wait between passes when nobody calls wake()
+    private static final long POLL_MILLIS = 250;
+
+    private final NotificationOutbox outbox;
+    private final Predicate<NotificationOutbox.Entry> stillValid;
+    private final Function<NotificationOutbox.Entry, CompletableFuture<Boolean>> delivery;
+    // Failed entries by seq; entries in flight map to IN_FLIGHT
+    private final Map<Long, Retry> retries;
+    private final Object signal;
+    private final Thread thread;
+    private boolean woken;
+    private volatile boolean closed;
+
+    private static final Retry IN_FLIGHT = new Retry(0, Long.MAX_VALUE);
+
+    private static final class Retry {
+        final int attempts;
+        final long notBefore;
+
+        Retry(int attempts, long notBefore) {
+            this.attempts = attempts;
+            this.notBefore = notBefore;
+        }
+    }
+
+    /**
+     * @param stillValid whether the state change an entry announces is still in effect
+     * @param delivery sends an entry; completes with true once it was delivered
+     */
+    public OutboxRelay(NotificationOutbox outbox,
+                       Predicate<NotificationOutbox.Entry> stillValid,
+                       Function<NotificationOutbox.Entry, CompletableFuture<Boolean>> delivery) {
+        this.outbox = outbox;
+        this.stillValid = stillValid;
+        this.delivery = delivery;
+        this.retries = new ConcurrentHashMap<>();
+        this.signal = new Object();
+        this.thread = new Thread(this::relayLoop, "outbox-relay");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Start a pass now instead of at the next poll
+     */
+    public void wake() {
+        synchronized (signal) {
+            woken = true;
+            signal.notify();
+        }
+    }
+
+    /**
+     * Stop relaying; entries still pending stay in the outbox for next time
+     */
+    @Override
+    public void close() {
+        closed = true;
+        wake();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void relayLoop() {
+        while (!closed) {
+            synchronized (signal) {
+                if (!woken) {
+                    try {
+                        signal.wait(POLL_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                woken = false;
+            }
+            if (closed) {
+                return;
+            }
+            try {
+                relayPending();
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Error relaying notifications: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void relayPending() throws IOException {
+        long now = System.currentTimeMillis();
+        for (NotificationOutbox.Entry entry : outbox.pending()) {
+            if (entry.isHeld()) {
+                continue;
+            }
+            Retry retry = retries.get(entry.getSeq());
+            if (retry != null && retry.notBefore > now) {
+                continue;
+            }
+            if (!stillValid.test(entry)) {
+                retries.remove(entry.getSeq());
+                outbox.markDropped(entry.getSeq());
+                continue;
+            }
+            int attempts = retry != null ? retry.attempts : 0;
+            retries.put(entry.getSeq(), IN_FLIGHT);
+            CompletableFuture<Boolean> sent;
+            try {
+                sent = delivery.apply(entry);
+            } catch (RuntimeException e) {
+                sent = new CompletableFuture<>();
+                sent.completeExceptionally(e);
+            }
+            sent.whenComplete((delivered, error) -> finish(entry, attempts + 1, Boolean.TRUE.equals(delivered)));
+        }
+    }
+
+    private void finish(NotificationOutbox.Entry entry, int attempts, boolean delivered) {
+        try {
+            if (delivered) {
+                retries.remove(entry.getSeq());
+                outbox.markDelivered(entry.getSeq());
+            } else if (attempts >= MAX_ATTEMPTS) {
+                retries.remove(entry.getSeq());
+                LOG.warn("Giving up on notification after {} attempts: {}", attempts, entry);
+                outbox.markDropped(entry.getSeq());
+            } else {
+                retries.put(entry.getSeq(), new Retry(attempts, System.currentTimeMillis() + backoff(attempts)));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Error recording notification outcome: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Exponential backoff capped at MAX_BACKOFF_MILLIS, with up to 50% jitter
+     * so failed entries do not all retry in the same pass
+     */
+    private static long backoff(int attempts) {
+        long base = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << Math.min(attempts - 1, 20));
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+}
@@ -0,0 +1,280 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.manager.ContactBatch;
+import edu.neu.csye7374.user.User;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Decorator that keeps a {@link NotificationSender} within what its gateway
+ * accepts: a token bucket caps the message rate, and a semaphore caps how
+ * many sends run at once.
+ *
+ * The bucket is a single atomic "next free time" (GCRA): a send reserves its
+ * cost in one CAS and sleeps for whatever part of the reservation exceeds
+ * the burst allowance, so no lock is ever held while waiting. Bulk sends are
+ * split into chunks of at most one burst and each recipient costs a token.
+ *
+ * The rate adapts to the gateway (AIMD): a {@link SenderThrottledException}
+ * halves it, down to a floor, and each successful send wins back a small
+ * step, up to the configured rate. Throttled sends are retried after the
+ * gateway's Retry-After, a few times at most. A caller interrupted while
+ * waiting gives up on the send, which is reported as not delivered, and
+ * keeps its interrupt flag.
+ */
+public class RateLimitedSender implements NotificationSender {
+
+    private static final int MAX_RETRIES = 3;
+    private static final double DECREASE_FACTOR = 0.5;
+    // Share of the configured rate won back per successful send
+    private static final double INCREASE_FRACTION = 0.02;
+    // The adapted rate never drops below this share of the configured rate
+    private static final double MIN_RATE_FRACTION = 0.05;
+
+    private final NotificationSender delegate;
+    private final double maxRate;
+    private final double minRate;
+    private final int burst;
+    private final Semaphore concurrency;
+    // GCRA theoretical arrival time, in System.nanoTime() units
+    private final AtomicLong nextFreeNanos;
+    // Current messages per second, as Double bits
+    private final AtomicLong rateBits;
+
+    private final LongAdder queued;
+    private final LongAdder throttled;
+    private final LongAdder rejected;
+    private final LongAdder sent;
+    private final LongAdder failed;
+
+    /**
+     * @param messagesPerSecond highest rate to send at
+     * @param burst messages that may go out at once after an idle period
+     * @param maxConcurrent sends allowed to run at the same time
+     */
+    public RateLimitedSender(NotificationSender delegate, double messagesPerSecond, int burst, int maxConcurrent) {
+        if (messagesPerSecond <= 0 || burst < 1 || maxConcurrent < 1) {
+            throw new IllegalArgumentException("Rate, burst and concurrency must be positive");
+        }
+        this.delegate = delegate;
+        this.maxRate = messagesPerSecond;
+        this.minRate = messagesPerSecond * MIN_RATE_FRACTION;
+        this.burst = burst;
+        this.concurrency = new Semaphore(maxConcurrent, true);
+        this.nextFreeNanos = new AtomicLong(System.nanoTime());
+        this.rateBits = new AtomicLong(Double.doubleToLongBits(messagesPerSecond));
+        this.queued = new LongAdder();
+        this.throttled = new LongAdder();
+        this.rejected = new LongAdder();
+        this.sent = new LongAdder();
+        this.failed = new LongAdder();
+    }
+
+    @Override
+    public boolean sendToUser(User user, String subject, String body) {
+        Boolean result = send(1, () -> delegate.sendToUser(user, subject, body), Boolean.FALSE);
+        (result ? sent : failed).increment();
+        return result;
+    }
+
+    @Override
+    public boolean sendToUsers(List<User> users, String subject, String body) {
+        return sendBulk(users, subject, body).cardinality() == users.size();
+    }
+
+    @Override
+    public BitSet sendBulk(List<User> users, String subject, String body) {
+        BitSet delivered = new BitSet(users.size());
+        for (int start = 0; start < users.size(); start += burst) {
+            List<User> chunk = users.subList(start, Math.min(start + burst, users.size()));
+            BitSet result = send(chunk.size(), () -> delegate.sendBulk(chunk, subject, body), new BitSet());
+            for (int i = result.nextSetBit(0); i >= 0 && i < chunk.size(); i = result.nextSetBit(i + 1)) {
+                delivered.set(start + i);
+            }
+            int ok = result.cardinality();
+            sent.add(ok);
+            failed.add(chunk.size() - ok);
+        }
+        return delivered;
+    }
+
+    /**
+     * The whole batch is one send costing a token per contact
+     */
+    @Override
+    public BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+        BitSet delivered = send(contacts.size(), () -> delegate.sendToContacts(contacts, subject, body), new BitSet());
+        int ok = delivered.cardinality();
+        sent.add(ok);
+        failed.add(contacts.size() - ok);
+        return delivered;
+    }
+
+    // ==================== METRICS ====================
+
+    /**
+     * @return sends currently waiting for a token or a concurrency slot
+     */
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    /**
+     * @return sends that had to wait for the rate limit
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return sends the gateway pushed back on
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return recipients delivered to
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * @return recipients not delivered to, including after giving up on retries
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return messages per second currently allowed, after adapting to the gateway
+     */
+    public double getCurrentRate() {
+        return Double.longBitsToDouble(rateBits.get());
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitedSender{" + delegate.getClass().getSimpleName()
+                + ", rate=" + String.format("%.1f", getCurrentRate()) + "/s"
+                + ", queued=" + getQueuedCount() + ", throttled=" + getThrottledCount()
+                + ", rejected=" + getRejectedCount() + ", sent=" + getSentCount()
+                + ", failed=" + getFailedCount() + '}';
+    }
+
+    // ==================== LIMITING ====================
+
+    /**
+     * Run one send within the rate and concurrency limits, retrying when throttled
+     * @param cost tokens the send uses
+     * @param onGiveUp result when the gateway keeps pushing back or the caller is interrupted
+     */
+    private <T> T send(int cost, Supplier<T> attempt, T onGiveUp) {
+        for (int tries = 0; ; tries++) {
+            if (!acquire(cost)) {
+                return onGiveUp;
+            }
+            long retryAfterMillis;
+            try {
+                T result = attempt.get();
+                adjustRate(true);
+                return result;
+            } catch (SenderThrottledException e) {
+                rejected.increment();
+                adjustRate(false);
+                retryAfterMillis = e.getRetryAfterMillis();
+            } finally {
+                concurrency.release();
+            }
+            if (tries >= MAX_RETRIES) {
+                return onGiveUp;
+            }
+            if (retryAfterMillis > 0 && !park(TimeUnit.MILLISECONDS.toNanos(retryAfterMillis))) {
+                return onGiveUp;
+            }
+        }
+    }
+
+    /**
+     * Wait for tokens, then for a concurrency slot; the caller must release the slot
+     * @return false, holding no slot, if the caller was interrupted
+     */
+    private boolean acquire(int cost) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        queued.increment();
+        try {
+            long wait = reserve(cost);
+            if (wait > 0) {
+                throttled.increment();
+                if (!park(wait)) {
+                    return false;
+                }
+            }
+            concurrency.acquireUninterruptibly();
+            return true;
+        } finally {
+            queued.decrement();
+        }
+    }
+
+    /**
+     * Claim tokens in the bucket
+     * @return nanoseconds to wait before the claimed tokens may be used
+     */
+    private long reserve(int cost) {
+        double nanosPerToken = TimeUnit.SECONDS.toNanos(1) / getCurrentRate();
+        long costNanos = (long) (cost * nanosPerToken);
+        long tolerance = (long) (burst * nanosPerToken);
+        while (true) {
+            long now = System.nanoTime();
+            long tat = nextFreeNanos.get();
+            long next = Math.max(tat, now) + costNanos;
+            if (nextFreeNanos.compareAndSet(tat, next)) {
+                return next - now - tolerance;
+            }
+        }
+    }
+
+    /**
+     * Additive increase after a success, multiplicative decrease after a push-back
+     */
+    private void adjustRate(boolean success) {
+        while (true) {
+            long bits = rateBits.get();
+            double rate = Double.longBitsToDouble(bits);
+            double adjusted = success
+                    ? Math.min(maxRate, rate + maxRate * INCREASE_FRACTION)
+                    : Math.max(minRate, rate * DECREASE_FACTOR);
+            if (adjusted == rate || rateBits.compareAndSet(bits, Double.doubleToLongBits(adjusted))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sleep without giving up the interrupt flag; parkNanos returns at once
+     * while the flag is set, so it is checked on every pass
+     * @return false if the thread was interrupted before the time was up
+     */
+    private static boolean park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            LockSupport.parkNanos(left);
+        }
+        return true;
+    }
+}
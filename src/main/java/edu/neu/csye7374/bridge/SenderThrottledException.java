@@ -0,0 +1,25 @@
+package edu.neu.csye7374.bridge;
+
+/**
+ * Thrown by a {@link NotificationSender} when the downstream gateway pushes
+ * back (an HTTP 429 or an SMTP 421/451), as opposed to a permanent failure.
+ * {@link RateLimitedSender} slows down and retries when it sees one.
+ */
+public class SenderThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    /**
+     * @param retryAfterMillis how long the gateway asked to wait, or 0 if it did not say
+     */
+    public SenderThrottledException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = Math.max(retryAfterMillis, 0);
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
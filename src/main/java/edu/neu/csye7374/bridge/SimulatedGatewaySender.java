@@ -0,0 +1,101 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.manager.ContactBatch;
+import edu.neu.csye7374.user.User;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for a remote SMS/mail gateway, for trying out rate limits
+ * locally: every request takes a fixed latency, and recipients beyond the
+ * gateway's per-second capacity are refused with a 429-style
+ * {@link SenderThrottledException}. Prints nothing.
+ */
+public class SimulatedGatewaySender implements NotificationSender {
+
+    private final long latencyMillis;
+    private final int capacityPerSecond;
+    // Fixed one-second window
+    private final AtomicLong windowStart;
+    private final AtomicInteger windowCount;
+    private final LongAdder accepted;
+    private final LongAdder refused;
+
+    /**
+     * @param latencyMillis time each request takes
+     * @param capacityPerSecond recipients accepted per second before refusing
+     */
+    public SimulatedGatewaySender(long latencyMillis, int capacityPerSecond) {
+        this.latencyMillis = latencyMillis;
+        this.capacityPerSecond = capacityPerSecond;
+        this.windowStart = new AtomicLong(System.currentTimeMillis());
+        this.windowCount = new AtomicInteger();
+        this.accepted = new LongAdder();
+        this.refused = new LongAdder();
+    }
+
+    @Override
+    public boolean sendToUser(User user, String subject, String body) {
+        admit(1);
+        return true;
+    }
+
+    @Override
+    public boolean sendToUsers(List<User> users, String subject, String body) {
+        return sendBulk(users, subject, body).cardinality() == users.size();
+    }
+
+    @Override
+    public BitSet sendBulk(List<User> users, String subject, String body) {
+        admit(users.size());
+        BitSet delivered = new BitSet(users.size());
+        delivered.set(0, users.size());
+        return delivered;
+    }
+
+    @Override
+    public BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+        admit(contacts.size());
+        BitSet delivered = new BitSet(contacts.size());
+        delivered.set(0, contacts.size());
+        return delivered;
+    }
+
+    /**
+     * @return recipients the gateway accepted
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return requests the gateway refused
+     */
+    public long getRefusedCount() {
+        return refused.sum();
+    }
+
+    private void admit(int recipients) {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= 1000 && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+            start = now;
+        }
+        if (windowCount.addAndGet(recipients) > capacityPerSecond) {
+            windowCount.addAndGet(-recipients);
+            refused.increment();
+            throw new SenderThrottledException("429 Too Many Requests", 1000 - (now - start));
+        }
+        accepted.add(recipients);
+    }
+}
@@ -1,24 +1,73 @@
 package edu.neu.csye7374.bridge;
 
 import edu.neu.csye7374.user.User;
-import edu.neu.csye7374.event.EventAPI;
-import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.ContactBatch;
+import java.util.BitSet;
 import java.util.List;
 
 public class SmsNotificationSender implements NotificationSender {
+
+    private static final Logger LOG = LogManager.getLogger(SmsNotificationSender.class);
+
+    // Recipients per gateway batch request in bulk sends
+    public static final int BATCH_SIZE = 1000;
+
     @Override
     public boolean sendToUser(User user, String subject, String body) {
-        System.out.println("[SMS] To: " + user.getEmail() + " (simulate phone) | " + subject + " - " + body);
+        LOG.info("[SMS] To: {} (simulate phone) | {} - {}", user.getEmail(), subject, body);
         return true;
     }
     @Override
     public boolean sendToUsers(List<User> users, String subject, String body) {
-        users.forEach(u -> sendToUser(u, subject, body));
-        return true;
+        return sendBulk(users, subject, body).cardinality() == users.size();
     }
+    /**
+     * Render the text once and submit recipients to the gateway {@link #BATCH_SIZE} at a time;
+     * a recipient without a phone number is skipped
+     */
     @Override
-    public boolean sendToEventParticipants(EventAPI event, String subject, String body) {
-        List<User> participants = EventManager.getInstance().getEventParticipants(event.getId());
-        return sendToUsers(participants, subject, body);
+    public BitSet sendBulk(List<User> users, String subject, String body) {
+        BitSet delivered = new BitSet(users.size());
+        if (users.isEmpty()) {
+            return delivered;
+        }
+        String text = subject + " - " + body;
+        int batches = 0;
+        for (int start = 0; start < users.size(); start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, users.size());
+            for (int i = start; i < end; i++) {
+                if (hasPhone(users.get(i).getEmail())) {
+                    delivered.set(i);
+                }
+            }
+            batches++;
+        }
+        LOG.info("[SMS] Bulk send: {}/{} recipients in {} gateway batches | {}",
+                delivered.cardinality(), users.size(), batches, text);
+        return delivered;
+    }
+    /**
+     * One gateway batch, addressed straight from the batch's contact column
+     */
+    @Override
+    public BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+        BitSet delivered = new BitSet(contacts.size());
+        for (int i = 0; i < contacts.size(); i++) {
+            if (hasPhone(contacts.getEmail(i))) {
+                delivered.set(i);
+            }
+        }
+        LOG.info("[SMS] Gateway batch: {}/{} recipients | {} - {}",
+                delivered.cardinality(), contacts.size(), subject, body);
+        return delivered;
+    }
+
+    /**
+     * Phones are simulated by the email address
+     */
+    private static boolean hasPhone(String email) {
+        return email != null;
     }
 }
@@ -1,37 +1,60 @@
 package edu.neu.csye7374.facade;
 
 import edu.neu.csye7374.adapter.ExternalEventAdapter;
+import edu.neu.csye7374.adapter.ExternalImportCoordinator;
 import edu.neu.csye7374.bridge.EmailNotificationSender;
 import edu.neu.csye7374.bridge.EventNotificationService;
+import edu.neu.csye7374.bridge.NotificationDispatcher;
 import edu.neu.csye7374.bridge.NotificationSender;
+import edu.neu.csye7374.bridge.OutboxRelay;
+import edu.neu.csye7374.bridge.RateLimitedSender;
 import edu.neu.csye7374.decorator.OnlineStreamingDecorator;
 import edu.neu.csye7374.event.EventAPI;
 import edu.neu.csye7374.factory.AbstractEventFactory;
 import edu.neu.csye7374.factory.LectureEventFactory;
 import edu.neu.csye7374.factory.SeminarEventFactory;
 import edu.neu.csye7374.factory.WorkshopEventFactory;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
 import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.EventOrder;
+import edu.neu.csye7374.persistence.BinaryEventExporter;
+import edu.neu.csye7374.persistence.BinaryEventImporter;
+import edu.neu.csye7374.persistence.ColumnarEventStore;
+import edu.neu.csye7374.persistence.DurabilityService;
+import edu.neu.csye7374.persistence.EventExporter;
+import edu.neu.csye7374.persistence.NotificationOutbox;
+import edu.neu.csye7374.persistence.TextEventExporter;
+import edu.neu.csye7374.persistence.TextEventImporter;
 import edu.neu.csye7374.service.SearchService;
 import edu.neu.csye7374.strategy.SortByDate;
 import edu.neu.csye7374.strategy.SortByTitle;
-import edu.neu.csye7374.strategy.SortStrategy;
 import edu.neu.csye7374.user.Organizer;
 import edu.neu.csye7374.user.Student;
 import edu.neu.csye7374.user.User;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Facade pattern implementation with Bridge for notifications.
  */
 public class CampusEventSystemFacade {
 
+    private static final Logger LOG = LogManager.getLogger(CampusEventSystemFacade.class);
+
     private static CampusEventSystemFacade instance;
 
     // Core subsystems
     private final EventManager eventManager;
     private final EventNotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final SearchService searchService;
 
     // Event factories
@@ -39,6 +62,27 @@ public class CampusEventSystemFacade {
 
     // External adapters
     private final List<ExternalEventAdapter> externalAdapters;
+    private final ExternalImportCoordinator importCoordinator;
+
+    // External sources imported at once, and how long each may take
+    private static final int PARALLEL_IMPORTS = 8;
+    private static final Duration IMPORT_TIMEOUT = Duration.ofSeconds(30);
+
+    // Log growth that makes a scheduled checkpoint worthwhile
+    private static final long CHECKPOINT_LOG_BYTES = 16L << 20;
+
+    // Notification templates recorded in the outbox
+    private static final String EVENT_CREATED = "event-created";
+    private static final String REGISTRATION_CONFIRMED = "registration-confirmed";
+    private static final String REGISTRATION_CANCELLED = "registration-cancelled";
+
+    // Set once durability is enabled
+    private DurabilityService durability;
+    private NotificationOutbox outbox;
+    private OutboxRelay outboxRelay;
+
+    // Set once archiving is enabled
+    private ColumnarEventStore archive;
 
     private CampusEventSystemFacade() {
         // Initialize core subsystems
@@ -46,9 +90,13 @@ public class CampusEventSystemFacade {
 
         // Bridge: abstraction + default implementor (Email)
         NotificationSender defaultSender = new EmailNotificationSender();
-        this.notificationService = new EventNotificationService(defaultSender);
+        this.notificationService = new EventNotificationService(defaultSender, eventManager::recipients);
 
-        this.searchService = new SearchService();
+        // Confirmations are delivered in the background so registering never waits on a send
+        this.notificationDispatcher = new NotificationDispatcher();
+        this.notificationService.setDispatcher(notificationDispatcher);
+
+        this.searchService = new SearchService(eventManager);
 
         // Initialize event factories
         this.eventFactories = new HashMap<>();
@@ -58,6 +106,10 @@ public class CampusEventSystemFacade {
 
         // Initialize external adapters list
         this.externalAdapters = new ArrayList<>();
+        this.importCoordinator = new ExternalImportCoordinator(PARALLEL_IMPORTS, IMPORT_TIMEOUT);
+
+        // A seat handed out from a waitlist is confirmed like a direct registration
+        this.eventManager.addPromotionListener(this::confirmPromotion);
     }
 
     public static CampusEventSystemFacade getInstance() {
@@ -74,6 +126,57 @@ public class CampusEventSystemFacade {
         this.notificationService.setSender(sender);
     }
 
+    /**
+     * Switch notification channel, keeping it within the gateway's limits.
+     * Bursts of up to one second's worth of messages are allowed, and the
+     * rate backs off on its own when the gateway pushes back.
+     */
+    public void setNotificationSender(NotificationSender sender, double messagesPerSecond, int maxConcurrent) {
+        int burst = (int) Math.max(1, Math.min(messagesPerSecond, Integer.MAX_VALUE));
+        setNotificationSender(new RateLimitedSender(sender, messagesPerSecond, burst, maxConcurrent));
+    }
+
+    // ==================== DURABILITY ====================
+
+    /**
+     * Restore state from a data directory (latest snapshot plus the log after it)
+     * and keep logging every change there, with a checkpoint every few minutes.
+     * Notifications then go through an outbox in the same directory, so they
+     * survive a crash and are retried until delivered.
+     * Call once at startup, before any events or users are added.
+     * Every change is on disk before the call that made it returns.
+     * @param dataDirectory where the log and snapshots live; created if it does not exist
+     * @return true if state was restored and logging started
+     */
+    public boolean enableDurability(String dataDirectory) {
+        return enableDurability(dataDirectory, true);
+    }
+
+    /**
+     * Same as {@link #enableDurability(String)}, optionally letting calls return
+     * before their change is on disk
+     * @param syncCommit false to skip the fsync wait per call; changes are then
+     *        committed in groups in the background, and a crash can lose those made
+     *        in the last flush cycle (typically a few milliseconds) even though the
+     *        calls that made them already reported success
+     */
+    public boolean enableDurability(String dataDirectory, boolean syncCommit) {
+        try {
+            if (durability != null) {
+                return true;
+            }
+            Path directory = Paths.get(dataDirectory);
+            durability = DurabilityService.open(directory, eventManager, syncCommit);
+            durability.scheduleCheckpoints(5, TimeUnit.MINUTES, CHECKPOINT_LOG_BYTES);
+            outbox = NotificationOutbox.open(directory.resolve("outbox.log"));
+            outboxRelay = new OutboxRelay(outbox, this::isStillValid, this::deliver);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error enabling durability: " + e.getMessage());
+            return false;
+        }
+    }
+
     // ==================== USER MANAGEMENT ====================
 
     public boolean registerStudent(String id, String name, String email,
@@ -158,10 +261,19 @@ public class CampusEventSystemFacade {
                 event = new OnlineStreamingDecorator(event, "Zoom", streamLink);
             }
 
-            if (eventManager.addEvent(event)) {
+            long intent = recordIntent(null, eventId, EVENT_CREATED);
+            boolean added = false;
+            try {
+                added = eventManager.addEvent(event);
+            } finally {
+                settleIntent(intent, added);
+            }
+            if (added) {
                 ((Organizer) user).createEvent(eventType, title, description, date.toString(), location, capacity);
 
-                notificationService.sendEventCreatedNotification(event);
+                if (outbox == null) {
+                    notificationService.sendEventCreatedNotification(event);
+                }
                 return eventId;
             }
             return null;
@@ -173,11 +285,18 @@ public class CampusEventSystemFacade {
 
     public boolean registerForEvent(String userId, String eventId) {
         try {
-            boolean registered = eventManager.registerUserForEvent(userId, eventId);
-            if (registered) {
+            long intent = recordIntent(userId, eventId, REGISTRATION_CONFIRMED);
+            boolean registered = false;
+            try {
+                registered = eventManager.registerUserForEvent(userId, eventId);
+            } finally {
+                settleIntent(intent, registered);
+            }
+            if (registered && outbox == null) {
                 User user = eventManager.getUser(userId);
                 EventAPI event = eventManager.getEvent(eventId);
-                notificationService.sendRegistrationConfirmation(user, event);
+                notificationService.sendRegistrationConfirmationAsync(user, event)
+                        .exceptionally(e -> reportNotificationFailure(userId, e));
             }
             return registered;
         } catch (Exception e) {
@@ -190,12 +309,18 @@ public class CampusEventSystemFacade {
         try {
             User user = eventManager.getUser(userId);
             if (user instanceof Student) {
-                boolean cancelled = ((Student) user).cancelEventRegistration(eventId);
-                if (cancelled) {
+                long intent = recordIntent(userId, eventId, REGISTRATION_CANCELLED);
+                boolean cancelled = false;
+                try {
+                    // Through the manager, so the seat is freed and the change logged
+                    cancelled = eventManager.cancelUserRegistration(userId, eventId);
+                } finally {
+                    settleIntent(intent, cancelled);
+                }
+                if (cancelled && outbox == null) {
                     EventAPI event = eventManager.getEvent(eventId);
-                    notificationService.notifyUser(user,
-                            "Event Registration Cancelled",
-                            "You have cancelled your registration for " + event.getTitle());
+                    notificationService.sendCancellationConfirmationAsync(user, event)
+                            .exceptionally(e -> reportNotificationFailure(userId, e));
                 }
                 return cancelled;
             }
@@ -206,11 +331,113 @@ public class CampusEventSystemFacade {
         }
     }
 
+    /**
+     * Confirm the seat to a user promoted from a waitlist. The promotion is
+     * already applied, so the outbox entry is recorded and released at once;
+     * the relay still checks the user is registered before sending.
+     */
+    private void confirmPromotion(String userId, String eventId) {
+        if (outbox != null) {
+            try {
+                settleIntent(recordIntent(userId, eventId, REGISTRATION_CONFIRMED), true);
+            } catch (IOException e) {
+                LOG.error("Error recording promotion notice for {}: {}", userId, e.getMessage());
+            }
+            return;
+        }
+        User user = eventManager.getUser(userId);
+        EventAPI event = eventManager.getEvent(eventId);
+        if (user != null && event != null) {
+            notificationService.sendRegistrationConfirmationAsync(user, event)
+                    .exceptionally(e -> reportNotificationFailure(userId, e));
+        }
+    }
+
+    private static Boolean reportNotificationFailure(String userId, Throwable e) {
+        System.err.println("Error notifying user " + userId + ": " + e.getMessage());
+        return false;
+    }
+
+    // ==================== NOTIFICATION OUTBOX ====================
+
+    /**
+     * Durably record a notification before the state change it announces.
+     * Failing to record it fails the whole operation, so a change never
+     * happens without its notification.
+     * @return outbox entry to settle after the change, or -1 if there is none
+     */
+    private long recordIntent(String userId, String eventId, String template) throws IOException {
+        return outbox != null ? outbox.enqueue(userId, eventId, template) : -1;
+    }
+
+    /**
+     * Settle an outbox entry once its change has been attempted: hand it to
+     * the relay if the change happened, drop it if the change was refused or
+     * threw, so no notification goes out for something that did not happen
+     */
+    private void settleIntent(long intent, boolean applied) {
+        if (intent < 0) {
+            return;
+        }
+        if (!applied) {
+            try {
+                outbox.markDropped(intent);
+                return;
+            } catch (IOException e) {
+                // Released instead; the relay re-checks the change before sending
+                System.err.println("Error dropping notification: " + e.getMessage());
+            }
+        }
+        outbox.release(intent);
+        outboxRelay.wake();
+    }
+
+    /**
+     * @return notifications recorded in the outbox and not yet delivered or dropped,
+     *         or 0 if durability is not enabled
+     */
+    public int getPendingNotificationCount() {
+        return outbox != null ? outbox.getPendingCount() : 0;
+    }
+
+    /**
+     * Whether the change an outbox entry announces is still in effect
+     */
+    private boolean isStillValid(NotificationOutbox.Entry entry) {
+        String userId = entry.getUserId();
+        String eventId = entry.getEventId();
+        switch (entry.getTemplate()) {
+            case EVENT_CREATED:
+                return eventManager.getEvent(eventId) != null;
+            case REGISTRATION_CONFIRMED:
+                return eventManager.isUserRegistered(userId, eventId);
+            case REGISTRATION_CANCELLED:
+                return eventManager.getEvent(eventId) != null && eventManager.getUser(userId) != null
+                        && !eventManager.isUserRegistered(userId, eventId);
+            default:
+                return false;
+        }
+    }
+
+    private CompletableFuture<Boolean> deliver(NotificationOutbox.Entry entry) {
+        EventAPI event = eventManager.getEvent(entry.getEventId());
+        switch (entry.getTemplate()) {
+            case EVENT_CREATED:
+                return CompletableFuture.completedFuture(notificationService.sendEventCreatedNotification(event));
+            case REGISTRATION_CONFIRMED:
+                return notificationService.sendRegistrationConfirmationAsync(eventManager.getUser(entry.getUserId()), event);
+            case REGISTRATION_CANCELLED:
+                return notificationService.sendCancellationConfirmationAsync(eventManager.getUser(entry.getUserId()), event);
+            default:
+                return CompletableFuture.completedFuture(false);
+        }
+    }
+
     // ==================== EVENT SEARCHING & FILTERING ====================
 
     public List<EventAPI> searchEventsByTitle(String title) {
         try {
-            return searchService.searchByTitle(eventManager.getAllEvents(), title);
+            return searchService.searchByTitle(title);
         } catch (Exception e) {
             System.err.println("Error searching events by title: " + e.getMessage());
             return new ArrayList<>();
@@ -219,7 +446,7 @@ public class CampusEventSystemFacade {
 
     public List<EventAPI> searchEventsByDateRange(LocalDate startDate, LocalDate endDate) {
         try {
-            return searchService.searchByDateRange(eventManager.getAllEvents(), startDate, endDate);
+            return searchService.searchByDateRange(startDate, endDate);
         } catch (Exception e) {
             System.err.println("Error searching events by date: " + e.getMessage());
             return new ArrayList<>();
@@ -228,36 +455,46 @@ public class CampusEventSystemFacade {
 
     public List<EventAPI> searchEventsByLocation(String location) {
         try {
-            return searchService.searchByLocation(eventManager.getAllEvents(), location);
+            return searchService.searchByLocation(location);
         } catch (Exception e) {
             System.err.println("Error searching events by location: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * All events in the requested order, read from the manager's ordered
+     * indexes (same orders as {@link SortByDate} and {@link SortByTitle})
+     * @param sortBy "date" or "title"; anything else sorts by date
+     */
     public List<EventAPI> getSortedEvents(String sortBy) {
         try {
-            List<EventAPI> events = eventManager.getAllEvents();
-            SortStrategy strategy;
-
-            switch (sortBy.toLowerCase()) {
-                case "date":
-                    strategy = new SortByDate();
-                    break;
-                case "title":
-                    strategy = new SortByTitle();
-                    break;
-                default:
-                    strategy = new SortByDate();
+            if ("title".equalsIgnoreCase(sortBy)) {
+                return eventManager.eventsSortedByTitle();
             }
-
-            return strategy.sortEvents(events);
+            return eventManager.eventsSortedByDate();
         } catch (Exception e) {
             System.err.println("Error sorting events: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Fetch one page of events in the requested order
+     * @param sortBy "date" or "title"
+     * @param after last event of the previous page, or null for the first page
+     * @param limit maximum number of events to return
+     */
+    public List<EventAPI> getEventsPage(String sortBy, EventAPI after, int limit) {
+        try {
+            EventOrder order = "title".equalsIgnoreCase(sortBy) ? EventOrder.TITLE : EventOrder.DATE;
+            return eventManager.page(order, after, limit);
+        } catch (Exception e) {
+            System.err.println("Error paging events: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     // ==================== NOTIFICATION MANAGEMENT ====================
 
     public void notifyEventParticipants(String eventId, String message) {
@@ -287,37 +524,138 @@ public class CampusEventSystemFacade {
         System.out.println("External adapter added: " + adapter.getClass().getSimpleName());
     }
 
+    /**
+     * Import from all external sources concurrently; a source that fails or
+     * times out is skipped and reported, and the rest are added in one batch
+     */
     public int importExternalEvents() {
         int importedCount = 0;
         try {
-            for (ExternalEventAdapter adapter : externalAdapters) {
-                List<EventAPI> externalEvents = adapter.importEvents();
-                for (EventAPI event : externalEvents) {
-                    if (eventManager.addEvent(event)) {
-                        importedCount++;
-                    }
+            ExternalImportCoordinator.ImportReport report =
+                    importCoordinator.importAll(new ArrayList<>(externalAdapters), eventManager);
+            report.getFailures().forEach((source, reason) ->
+                    LOG.error("Error importing from {}: {}", source, reason));
+            importedCount = report.getImportedCount();
+            LOG.info("Imported {} external events", importedCount);
+        } catch (Exception e) {
+            LOG.error("Error importing external events: {}", e.getMessage());
+        }
+        return importedCount;
+    }
+
+    // ==================== EXPORT & IMPORT ====================
+
+    /**
+     * Export every event, in date order
+     * @param filePath file to write
+     * @param format "binary" for the compact indexed format, "text" for the original dump format
+     * @return number of events exported, or -1 on error
+     */
+    public long exportEvents(String filePath, String format) {
+        try {
+            EventExporter exporter = "text".equalsIgnoreCase(format)
+                    ? new TextEventExporter()
+                    : new BinaryEventExporter();
+            long exported = exporter.export(eventManager.eventsSortedByDate(), Paths.get(filePath));
+            System.out.println("Exported " + exported + " events to " + filePath);
+            return exported;
+        } catch (Exception e) {
+            System.err.println("Error exporting events: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Import the events from an export: a ".txt" file is read as a text dump,
+     * anything else as the binary format
+     * @return number of events imported
+     */
+    public long importEvents(String filePath) {
+        try {
+            long imported;
+            if (filePath.toLowerCase().endsWith(".txt")) {
+                imported = new TextEventImporter(Paths.get(filePath))
+                        .importInto(eventManager, TextEventImporter.DEFAULT_BATCH_SIZE);
+            } else {
+                try (BinaryEventImporter importer = new BinaryEventImporter(Paths.get(filePath))) {
+                    imported = importer.importInto(eventManager);
                 }
             }
-            System.out.println("Imported " + importedCount + " external events");
+            System.out.println("Imported " + imported + " events from " + filePath);
+            return imported;
         } catch (Exception e) {
-            System.err.println("Error importing external events: " + e.getMessage());
+            System.err.println("Error importing events: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // ==================== ARCHIVE ====================
+
+    /**
+     * Open (or create) an off-heap archive for past events. Archived events
+     * leave the live system and are searched with
+     * {@link #searchArchivedEventsByDateRange(LocalDate, LocalDate)}.
+     * @param archiveDirectory where the archive's column files live; created if it does not exist
+     * @return true if the archive is ready
+     */
+    public boolean enableArchive(String archiveDirectory) {
+        try {
+            if (archive == null) {
+                archive = new ColumnarEventStore(Paths.get(archiveDirectory));
+                searchService.setArchive(archive);
+            }
+            return true;
+        } catch (Exception e) {
+            LOG.error("Error enabling archive: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Move every event dated before the cutoff into the archive. The events
+     * are flushed to the archive before they are removed, so a crash in
+     * between leaves an event in both places rather than in neither.
+     * @return number of events archived, or -1 if archiving is not enabled or fails
+     */
+    public int archiveEventsBefore(LocalDate cutoff) {
+        if (archive == null) {
+            LOG.error("Archive not enabled");
+            return -1;
+        }
+        try {
+            List<EventAPI> past = searchService.searchByDateRange(null, cutoff.minusDays(1));
+            archive.appendAll(past);
+            archive.flush();
+            for (EventAPI event : past) {
+                eventManager.removeEvent(event.getId());
+            }
+            LOG.info("Archived {} events dated before {}", past.size(), cutoff);
+            return past.size();
+        } catch (Exception e) {
+            LOG.error("Error archiving events: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    public List<EventAPI> searchArchivedEventsByDateRange(LocalDate startDate, LocalDate endDate) {
+        try {
+            return searchService.searchArchiveByDateRange(startDate, endDate);
+        } catch (Exception e) {
+            LOG.error("Error searching archived events: {}", e.getMessage());
+            return new ArrayList<>();
         }
-        return importedCount;
     }
 
     // ==================== SYSTEM STATISTICS ====================
 
     public SystemStats getSystemStatistics() {
         try {
-            List<EventAPI> events = eventManager.getAllEvents();
-            List<User> users = eventManager.getAllUsers();
-
-            long studentCount = users.stream().filter(u -> u instanceof Student).count();
-            long organizerCount = users.stream().filter(u -> u instanceof Organizer).count();
+            long studentCount = eventManager.streamUsers().filter(u -> u instanceof Student).count();
+            long organizerCount = eventManager.streamUsers().filter(u -> u instanceof Organizer).count();
 
             return new SystemStats(
-                    events.size(),
-                    users.size(),
+                    eventManager.getEventCount(),
+                    eventManager.getUserCount(),
                     (int) studentCount,
                     (int) organizerCount,
                     externalAdapters.size()
@@ -356,41 +694,42 @@ public class CampusEventSystemFacade {
 
     public void sendNotificationToUser(String userId, String subject, String message) {
         try {
-            System.out.println("🏗️ [FACADE] Starting sendNotificationToUser process...");
-            System.out.println("🏗️ [FACADE] User ID: " + userId);
-            System.out.println("🏗️ [FACADE] Subject: " + subject);
-            System.out.println("🏗️ [FACADE] Message: " + message);
+            LOG.debug("🏗️ [FACADE] Starting sendNotificationToUser process...");
+            LOG.debug("🏗️ [FACADE] User ID: {}", userId);
+            LOG.debug("🏗️ [FACADE] Subject: {}", subject);
+            LOG.debug("🏗️ [FACADE] Message: {}", message);
             
             User targetUser = eventManager.getUser(userId);
             if (targetUser == null) {
-                System.err.println("❌ [FACADE] User not found in EventManager: " + userId);
+                LOG.error("❌ [FACADE] User not found in EventManager: {}", userId);
                 return;
             }
             
-            System.out.println("✅ [FACADE] User retrieved from EventManager:");
-            System.out.println("   - Name: " + targetUser.getName());
-            System.out.println("   - Email: " + targetUser.getEmail());
-            System.out.println("   - Type: " + targetUser.getClass().getSimpleName());
-            System.out.println("   - ID: " + targetUser.getId());
-            
-            System.out.println("🔍 [FACADE] Getting notification service instance...");
-            System.out.println("🔍 [FACADE] Notification service type: " + notificationService.getClass().getSimpleName());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("✅ [FACADE] User retrieved from EventManager:");
+                LOG.debug("   - Name: {}", targetUser.getName());
+                LOG.debug("   - Email: {}", targetUser.getEmail());
+                LOG.debug("   - Type: {}", targetUser.getClass().getSimpleName());
+                LOG.debug("   - ID: {}", targetUser.getId());
+                
+                LOG.debug("🔍 [FACADE] Getting notification service instance...");
+                LOG.debug("🔍 [FACADE] Notification service type: {}", notificationService.getClass().getSimpleName());
+            }
             
             // Use the notification service to send to specific user
-            System.out.println("📤 [FACADE] Calling notificationService.notifyUser()...");
+            LOG.debug("📤 [FACADE] Calling notificationService.notifyUser()...");
             boolean success = notificationService.notifyUser(targetUser, subject, message);
             
             if (success) {
-                System.out.println("✅ [FACADE] Notification service returned SUCCESS for " + targetUser.getName() + "!");
+                LOG.debug("✅ [FACADE] Notification service returned SUCCESS for {}!", targetUser.getName());
             } else {
-                System.out.println("❌ [FACADE] Notification service returned FAILURE for " + targetUser.getName());
+                LOG.warn("❌ [FACADE] Notification service returned FAILURE for {}", targetUser.getName());
             }
             
-            System.out.println("🏗️ [FACADE] sendNotificationToUser process completed.");
+            LOG.debug("🏗️ [FACADE] sendNotificationToUser process completed.");
             
         } catch (Exception e) {
-            System.err.println("❌ [FACADE] Exception in sendNotificationToUser: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error(() -> "❌ [FACADE] Exception in sendNotificationToUser: " + e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,184 @@
+package edu.neu.csye7374.logging;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands messages to a background thread through a preallocated ring buffer,
+ * so logging threads never take the console lock.
+ *
+ * Producers claim a slot with one CAS on the shared claim counter, fill it
+ * in and publish it by bumping the slot's sequence; the single writer thread
+ * consumes slots in order and passes them to the target appender. Slots and
+ * their fields are reused, so steady-state logging allocates nothing beyond
+ * the message itself. When the buffer is full a producer waits for the
+ * writer to free a slot instead of dropping the message. The writer parks
+ * while the ring is empty and is woken by the producer that fills the slot
+ * it waits on.
+ *
+ * A producer checks for close only after it has claimed its slot. If the
+ * appender closed meanwhile it still publishes the slot, marked as skipped,
+ * and writes the message to the target itself; the writer drains every slot
+ * claimed before it saw the close, so no message is lost either way.
+ */
+public class AsyncAppender implements LogAppender, Closeable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private final LogAppender target;
+    private final int mask;
+    private final Slot[] slots;
+    // Per slot: the claim position it is ready for, or position + 1 once published
+    private final AtomicLongArray sequences;
+    private final AtomicLong claimed;
+    private final Thread writer;
+    private volatile long consumed;
+    private volatile boolean closed;
+
+    private static final class Slot {
+        long timestampMillis;
+        LogLevel level;
+        String loggerName;
+        String threadName;
+        String message;
+        Throwable error;
+        // Written by its producer straight to the target; the writer passes over it
+        boolean skipped;
+    }
+
+    public AsyncAppender(LogAppender target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity slots in the ring; rounded up to a power of two
+     */
+    public AsyncAppender(LogAppender target, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.target = target;
+        this.mask = size - 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.claimed = new AtomicLong();
+        this.writer = new Thread(this::drainLoop, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void append(long timestampMillis, LogLevel level, String loggerName, String threadName,
+                       String message, Throwable error) {
+        long position = closed ? -1 : claim();
+        if (position < 0) {
+            target.append(timestampMillis, level, loggerName, threadName, message, error);
+            return;
+        }
+        Slot slot = slots[(int) position & mask];
+        // The writer may already have drained up to this slot and left
+        boolean skipped = closed;
+        slot.skipped = skipped;
+        if (!skipped) {
+            slot.timestampMillis = timestampMillis;
+            slot.level = level;
+            slot.loggerName = loggerName;
+            slot.threadName = threadName;
+            slot.message = message;
+            slot.error = error;
+        }
+        sequences.set((int) position & mask, position + 1);
+        if (consumed == position) {
+            LockSupport.unpark(writer);
+        }
+        if (skipped) {
+            target.append(timestampMillis, level, loggerName, threadName, message, error);
+        }
+    }
+
+    /**
+     * Wait until everything appended so far has reached the target
+     */
+    @Override
+    public void flush() {
+        long upTo = claimed.get();
+        while (consumed < upTo && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+        target.flush();
+    }
+
+    /**
+     * Write out every slot claimed so far and stop the writer thread
+     */
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        target.flush();
+    }
+
+    /**
+     * @return the claimed position, or -1 if the ring is full and the appender closed
+     */
+    private long claim() {
+        while (true) {
+            long position = claimed.get();
+            long ready = sequences.get((int) position & mask);
+            if (ready == position) {
+                if (claimed.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (ready < position) {
+                // Full: the writer has not freed this slot yet, and never will once closed
+                if (closed) {
+                    return -1;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        long position = 0;
+        while (true) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                // Slots claimed before the close was seen are still drained
+                if (closed && claimed.get() == position) {
+                    return;
+                }
+                // Woken by the producer publishing this slot, or by close()
+                LockSupport.park(this);
+                continue;
+            }
+            Slot slot = slots[index];
+            if (!slot.skipped) {
+                try {
+                    target.append(slot.timestampMillis, slot.level, slot.loggerName, slot.threadName,
+                            slot.message, slot.error);
+                } catch (RuntimeException e) {
+                    System.err.println("Error writing log message: " + e.getMessage());
+                }
+            }
+            slot.message = null;
+            slot.error = null;
+            // Free the slot for the producer that laps the ring next
+            sequences.set(index, position + slots.length);
+            position++;
+            consumed = position;
+        }
+    }
+}
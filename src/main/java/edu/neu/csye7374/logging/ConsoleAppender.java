@@ -0,0 +1,27 @@
+package edu.neu.csye7374.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Writes messages to the console the way the system always has: INFO and
+ * below to standard output as plain lines, WARN and ERROR to standard error.
+ * Each message is one println, so lines from different threads never interleave.
+ */
+public class ConsoleAppender implements LogAppender {
+
+    @Override
+    public void append(long timestampMillis, LogLevel level, String loggerName, String threadName,
+                       String message, Throwable error) {
+        PrintStream out = level.compareTo(LogLevel.WARN) >= 0 ? System.err : System.out;
+        out.println(message);
+        if (error != null) {
+            error.printStackTrace(out);
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+}
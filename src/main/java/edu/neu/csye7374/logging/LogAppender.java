@@ -0,0 +1,21 @@
+package edu.neu.csye7374.logging;
+
+/**
+ * Destination for log messages that passed the level check.
+ * Messages arrive already formatted; implementations must be thread-safe.
+ */
+public interface LogAppender {
+
+    /**
+     * @param timestampMillis wall-clock time the message was logged
+     * @param error attached exception, or null
+     */
+    void append(long timestampMillis, LogLevel level, String loggerName, String threadName,
+                String message, Throwable error);
+
+    /**
+     * Make sure everything appended so far has been written out
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,25 @@
+package edu.neu.csye7374.logging;
+
+/**
+ * Severity of a log message, from most to least verbose.
+ * A logger set to a level emits that level and everything above it;
+ * OFF emits nothing.
+ */
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF;
+
+    /**
+     * Parse a level name, case-insensitively
+     * @return the level, or the fallback if the name is null or unknown
+     */
+    public static LogLevel parse(String name, LogLevel fallback) {
+        if (name != null) {
+            for (LogLevel level : values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,68 @@
+package edu.neu.csye7374.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Entry point of the logging layer: hands out {@link Logger}s and holds the
+ * global level and appender.
+ *
+ * The level comes from the "csye7374.log.level" system property (TRACE,
+ * DEBUG, INFO, WARN, ERROR or OFF; INFO by default). The step-by-step trace
+ * output of the notification and registration paths is logged at DEBUG, so
+ * it is off unless asked for. Setting "csye7374.log.async=true" routes
+ * output through an {@link AsyncAppender} so logging threads never wait on
+ * the console.
+ */
+public final class LogManager {
+
+    public static final String LEVEL_PROPERTY = "csye7374.log.level";
+    public static final String ASYNC_PROPERTY = "csye7374.log.async";
+
+    private static final ConcurrentMap<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+    private static volatile LogLevel level = LogLevel.parse(System.getProperty(LEVEL_PROPERTY), LogLevel.INFO);
+    private static volatile LogAppender appender = defaultAppender();
+
+    private LogManager() {
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return getLogger(type.getName());
+    }
+
+    public static Logger getLogger(String name) {
+        return LOGGERS.computeIfAbsent(name, Logger::new);
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    public static LogAppender getAppender() {
+        return appender;
+    }
+
+    /**
+     * Replace the appender; the previous one is flushed first
+     */
+    public static void setAppender(LogAppender newAppender) {
+        LogAppender previous = appender;
+        appender = newAppender;
+        previous.flush();
+    }
+
+    private static LogAppender defaultAppender() {
+        LogAppender console = new ConsoleAppender();
+        if (!Boolean.getBoolean(ASYNC_PROPERTY)) {
+            return console;
+        }
+        AsyncAppender async = new AsyncAppender(console);
+        // Buffered lines still reach the console when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(async::close, "log-flush"));
+        return async;
+    }
+}
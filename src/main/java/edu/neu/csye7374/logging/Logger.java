@@ -0,0 +1,258 @@
+package edu.neu.csye7374.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Named logger. Every method checks the level first, so a disabled message
+ * costs one comparison: parameterized messages ("{}" placeholders) are only
+ * formatted, and {@link Supplier} messages only built, when they will be
+ * written. Every level has the same overloads; the one- and two-argument
+ * ones avoid a varargs array, and WARN and ERROR also take an exception.
+ * Obtain instances from {@link LogManager#getLogger}.
+ */
+public final class Logger {
+
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(LogManager.getLevel()) >= 0 && level != LogLevel.OFF;
+    }
+
+    public boolean isTraceEnabled() {
+        return isEnabled(LogLevel.TRACE);
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    // ==================== TRACE ====================
+
+    public void trace(String message) {
+        if (isEnabled(LogLevel.TRACE)) {
+            write(LogLevel.TRACE, message, null);
+        }
+    }
+
+    public void trace(String format, Object arg) {
+        if (isEnabled(LogLevel.TRACE)) {
+            write(LogLevel.TRACE, format(format, arg), null);
+        }
+    }
+
+    public void trace(String format, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.TRACE)) {
+            write(LogLevel.TRACE, format(format, arg1, arg2), null);
+        }
+    }
+
+    public void trace(String format, Object... args) {
+        if (isEnabled(LogLevel.TRACE)) {
+            write(LogLevel.TRACE, format(format, args), null);
+        }
+    }
+
+    public void trace(Supplier<String> message) {
+        if (isEnabled(LogLevel.TRACE)) {
+            write(LogLevel.TRACE, message.get(), null);
+        }
+    }
+
+    // ==================== DEBUG ====================
+
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, message, null);
+        }
+    }
+
+    public void debug(String format, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, format(format, arg), null);
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, format(format, arg1, arg2), null);
+        }
+    }
+
+    public void debug(String format, Object... args) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, format(format, args), null);
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, message.get(), null);
+        }
+    }
+
+    // ==================== INFO ====================
+
+    public void info(String message) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, message, null);
+        }
+    }
+
+    public void info(String format, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, format(format, arg), null);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, format(format, arg1, arg2), null);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, format(format, args), null);
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            write(LogLevel.INFO, message.get(), null);
+        }
+    }
+
+    // ==================== WARN ====================
+
+    public void warn(String message) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, message, null);
+        }
+    }
+
+    public void warn(String format, Object arg) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, format(format, arg), null);
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, format(format, arg1, arg2), null);
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, format(format, args), null);
+        }
+    }
+
+    public void warn(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, message.get(), null);
+        }
+    }
+
+    public void warn(String message, Throwable error) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, message, error);
+        }
+    }
+
+    public void warn(Supplier<String> message, Throwable error) {
+        if (isEnabled(LogLevel.WARN)) {
+            write(LogLevel.WARN, message.get(), error);
+        }
+    }
+
+    // ==================== ERROR ====================
+
+    public void error(String message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message, null);
+        }
+    }
+
+    public void error(String format, Object arg) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, format(format, arg), null);
+        }
+    }
+
+    public void error(String format, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, format(format, arg1, arg2), null);
+        }
+    }
+
+    public void error(String format, Object... args) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, format(format, args), null);
+        }
+    }
+
+    public void error(Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message.get(), null);
+        }
+    }
+
+    public void error(String message, Throwable error) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message, error);
+        }
+    }
+
+    public void error(Supplier<String> message, Throwable error) {
+        if (isEnabled(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message.get(), error);
+        }
+    }
+
+    private void write(LogLevel level, String message, Throwable error) {
+        LogManager.getAppender().append(System.currentTimeMillis(), level, name,
+                Thread.currentThread().getName(), message, error);
+    }
+
+    // ==================== FORMATTING ====================
+
+    private static String format(String format, Object arg) {
+        int at = format.indexOf("{}");
+        if (at < 0) {
+            return format;
+        }
+        return new StringBuilder(format.length() + 16)
+                .append(format, 0, at).append(arg).append(format, at + 2, format.length())
+                .toString();
+    }
+
+    private static String format(String format, Object arg1, Object arg2) {
+        return format(format, new Object[] {arg1, arg2});
+    }
+
+    /**
+     * Replace each "{}" with the next argument; extra placeholders stay as they are
+     */
+    static String format(String format, Object[] args) {
+        StringBuilder out = new StringBuilder(format.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int at = format.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            out.append(format, from, at).append(arg);
+            from = at + 2;
+        }
+        return out.append(format, from, format.length()).toString();
+    }
+}
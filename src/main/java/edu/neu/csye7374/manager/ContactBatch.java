@@ -0,0 +1,90 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable batch of recipient contact records, laid out as parallel
+ * columns (ID, name, email). A {@link RecipientCursor} refills the same
+ * batch for every step, so fanning out to an event allocates no per-recipient
+ * objects. Contents are only valid until the next refill.
+ */
+public final class ContactBatch {
+
+    private final User[] users;
+    private final String[] userIds;
+    private final String[] names;
+    private final String[] emails;
+    private int size;
+
+    public ContactBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.users = new User[capacity];
+        this.userIds = new String[capacity];
+        this.names = new String[capacity];
+        this.emails = new String[capacity];
+    }
+
+    public int capacity() {
+        return users.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getUserId(int index) {
+        return userIds[checkIndex(index)];
+    }
+
+    public String getName(int index) {
+        return names[checkIndex(index)];
+    }
+
+    public String getEmail(int index) {
+        return emails[checkIndex(index)];
+    }
+
+    public User getUser(int index) {
+        return users[checkIndex(index)];
+    }
+
+    /**
+     * @return the batch's users as a list view, for senders without a contact-based path
+     */
+    public List<User> asUsers() {
+        return Arrays.asList(users).subList(0, size);
+    }
+
+    void clear() {
+        Arrays.fill(users, 0, size, null);
+        size = 0;
+    }
+
+    boolean isFull() {
+        return size == users.length;
+    }
+
+    void add(User user) {
+        users[size] = user;
+        userIds[size] = user.getId();
+        names[size] = user.getName();
+        emails[size] = user.getEmail();
+        size++;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+
+/**
+ * Observer for indexes that mirror the event set held by {@link EventManager}.
+ * Callbacks are delivered one at a time, in the order the changes were made,
+ * so a listener does not need its own locking against other updates.
+ * Events are identified by the EventManager's dense event ordinal.
+ */
+public interface EventChangeListener {
+
+    void eventAdded(int eventOrdinal, EventAPI event);
+
+    void eventRemoved(int eventOrdinal, EventAPI event);
+}
@@ -1,58 +1,148 @@
 package edu.neu.csye7374.manager;
 
 import edu.neu.csye7374.event.EventAPI;
-import edu.neu.csye7374.strategy.EventSorter;
-import edu.neu.csye7374.strategy.SortByDate;
-import edu.neu.csye7374.strategy.SortByTitle;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.EventStateLog.RegistrationChange;
 import edu.neu.csye7374.user.User;
 import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.util.IdRegistry;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 
+/**
+ * Thread-safe singleton implementation of {@link EventManagerAPI}.
+ * User and event IDs are interned into dense int ordinals by {@link IdRegistry};
+ * each event lives in an {@link EventRoster} that stores registered user
+ * ordinals in a primitive set. Each roster is locked on its own, so
+ * concurrent registrations only contend when they target the same event.
+ * Sorted reads come from a {@link SortedEventIndex} maintained on add/remove;
+ * other indexes subscribe as {@link EventChangeListener}s, and
+ * {@link PromotionListener}s hear about seats handed out from a waitlist.
+ * When an {@link EventStateLog} is attached, every state change is appended
+ * to it under the lock that ordered the change, and the caller waits for
+ * durability only after that lock is released.
+ */
 public class EventManager implements EventManagerAPI {
+
+    private static final Logger LOG = LogManager.getLogger(EventManager.class);
     
-    private static EventManager instance;
+    // Maximum number of users that can queue for a sold-out event
+    public static final int DEFAULT_WAITLIST_LIMIT = 50;
     
-    private Map<String, EventAPI> events;
-    private Map<String, User> users;
-    private Map<String, List<String>> eventRegistrations;
+    private final IdRegistry<EventRoster> events;
+    private final IdRegistry<User> users;
 
-    private EventSorter sorter;
+    private final SortedEventIndex sortedEvents;
+    private final List<EventChangeListener> listeners;
+    private final List<PromotionListener> promotionListeners;
+    // Serializes event add/remove with index maintenance
+    private final Object indexLock = new Object();
+    // Serializes user registration with its log append, so a capture sees both or neither
+    private final Object userLock = new Object();
+    private volatile int waitlistLimit = DEFAULT_WAITLIST_LIMIT;
+    private volatile EventStateLog stateLog;
     
     private EventManager() {
-        events = new HashMap<>();
-        users = new HashMap<>();
-        eventRegistrations = new HashMap<>();
-        sorter = new EventSorter();
+        events = new IdRegistry<>();
+        users = new IdRegistry<>();
+        sortedEvents = new SortedEventIndex();
+        listeners = new CopyOnWriteArrayList<>();
+        promotionListeners = new CopyOnWriteArrayList<>();
+    }
+    
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final EventManager INSTANCE = new EventManager();
     }
     
     public static EventManager getInstance() {
-        if (instance == null) {
-            instance = new EventManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     @Override
     public boolean addEvent(EventAPI event) {
         if (event != null && event.getId() != null) {
-            events.put(event.getId(), event);
-            eventRegistrations.put(event.getId(), new ArrayList<>());
-            System.out.println("Event added: " + event.getTitle() + " (ID: " + event.getId() + ")");
+            EventStateLog log = stateLog;
+            awaitDurable(log, putEvent(event, log));
+            LOG.info("Event added: {} (ID: {})", event.getTitle(), event.getId());
             return true;
         }
         return false;
     }
     
+    /**
+     * Add a batch of events under a single hold of the index lock, with one
+     * durability wait and one summary line for the whole batch
+     */
+    @Override
+    public int addAllEvents(Collection<? extends EventAPI> batch) {
+        EventStateLog log = stateLog;
+        long lsn = 0;
+        int added = 0;
+        synchronized (indexLock) {
+            for (EventAPI event : batch) {
+                if (event != null && event.getId() != null) {
+                    lsn = Math.max(lsn, putEventLocked(event, log));
+                    added++;
+                }
+            }
+        }
+        awaitDurable(log, lsn);
+        LOG.info("Events added: {}", added);
+        return added;
+    }
+    
+    /**
+     * Install an event, replacing any event with the same ID
+     * @return LSN of the logged change, or 0 if nothing was logged
+     */
+    private long putEvent(EventAPI event, EventStateLog log) {
+        // Serialize index maintenance so a replaced event never lingers in an index
+        synchronized (indexLock) {
+            return putEventLocked(event, log);
+        }
+    }
+    
+    // Caller holds indexLock
+    private long putEventLocked(EventAPI event, EventStateLog log) {
+        int eventOrdinal = events.intern(event.getId());
+        // Close the replaced roster first so nothing can be logged against it afterwards
+        EventRoster previous = events.get(eventOrdinal);
+        if (previous != null) {
+            synchronized (previous) {
+                previous.close();
+            }
+        }
+        long lsn = log != null ? log.eventAdded(event) : 0;
+        events.set(eventOrdinal, new EventRoster(event, waitlistLimit));
+        if (previous != null) {
+            unindex(eventOrdinal, previous.getEvent());
+        }
+        sortedEvents.add(event);
+        for (EventChangeListener listener : listeners) {
+            listener.eventAdded(eventOrdinal, event);
+        }
+        return lsn;
+    }
+    
     @Override
     public boolean registerUser(User user) {
         if (user != null && user.getId() != null) {
-            users.put(user.getId(), user);
-            System.out.println("User registered: " + user.getName() + " (ID: " + user.getId() + ")");
+            // Logged before the user becomes visible, so no registration can be logged ahead of it
+            EventStateLog log = stateLog;
+            long lsn;
+            synchronized (userLock) {
+                lsn = log != null ? log.userRegistered(user) : 0;
+                users.set(users.intern(user.getId()), user);
+            }
+            awaitDurable(log, lsn);
+            LOG.info("User registered: {} (ID: {})", user.getName(), user.getId());
             return true;
         }
         return false;
@@ -60,34 +150,118 @@ public class EventManager implements EventManagerAPI {
     
     @Override
     public boolean registerUserForEvent(String userId, String eventId) {
-        if (!users.containsKey(userId)) {
-            System.out.println("User not found: " + userId);
+        int userOrdinal = users.ordinalOf(userId);
+        User user = users.get(userOrdinal);
+        if (user == null) {
+            LOG.debug("User not found: {}", userId);
             return false;
         }
         
-        if (!events.containsKey(eventId)) {
-            System.out.println("Event not found: " + eventId);
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            LOG.debug("Event not found: {}", eventId);
             return false;
         }
         
-        List<String> registrations = eventRegistrations.get(eventId);
-        if (!registrations.contains(userId)) {
-            registrations.add(userId);
-            
-            // If the user is a student, also update their registered events
-            User user = users.get(userId);
-            if (user instanceof Student) {
-                ((Student) user).registerForEvent(eventId);
-            }
-            
-            System.out.println("User " + userId + " registered for event " + eventId);
+        // Lock-free seat claim first; a sold-out event goes straight to the waitlist
+        boolean seatClaimed = !registrations.hasWaiters() && registrations.tryClaimSeat();
+        EventStateLog log = stateLog;
+        long lsn = 0;
+        boolean added = false;
+        boolean waitlisted = false;
+        boolean alreadyWaiting = false;
+        int position = 0;
+        int promoted = -1;
+        synchronized (registrations) {
+            if (registrations.isClosed()) {
+                LOG.debug("Event not found: {}", eventId);
+                return false;
+            }
+            // Each change is logged before it is applied, so a failed append leaves the roster as it was
+            if (seatClaimed) {
+                if (registrations.contains(userOrdinal)) {
+                    // Already registered: the claimed seat goes to the waitlist instead
+                    registrations.releaseSeat();
+                    promoted = registrations.claimSeatForPromotion();
+                    if (promoted >= 0) {
+                        lsn = promote(registrations, promoted, eventId, log);
+                    }
+                } else {
+                    try {
+                        if (log != null) {
+                            lsn = log.registrationChanged(RegistrationChange.REGISTERED, userId, eventId);
+                        }
+                    } catch (RuntimeException e) {
+                        registrations.releaseSeat();
+                        throw e;
+                    }
+                    added = registrations.add(userOrdinal);
+                    // If the user is a student, also update their registered events
+                    // while still holding the roster lock so both views stay in step
+                    if (user instanceof Student) {
+                        ((Student) user).registerForEvent(eventId);
+                    }
+                }
+            } else if (registrations.isWaitlisted(userOrdinal)) {
+                alreadyWaiting = true;
+            } else if (!registrations.contains(userOrdinal)) {
+                if (!registrations.canWaitlist(userOrdinal)) {
+                    LOG.debug("Event {} is full and its waitlist is full", eventId);
+                    return false;
+                }
+                if (log != null) {
+                    lsn = log.registrationChanged(RegistrationChange.WAITLISTED, userId, eventId);
+                }
+                waitlisted = registrations.enqueueWaitlist(userOrdinal);
+                position = registrations.waitlistSize();
+            }
+        }
+        awaitDurable(log, lsn);
+        if (promoted >= 0) {
+            firePromoted(promoted, eventId);
+        }
+        
+        if (added) {
+            LOG.debug("User {} registered for event {}", userId, eventId);
             return true;
+        } else if (waitlisted) {
+            LOG.debug("Event {} is full. User {} added to waitlist (position {})", eventId, userId, position);
+            return false;
+        } else if (alreadyWaiting) {
+            LOG.debug("User {} is already on the waitlist for event {}", userId, eventId);
+            return false;
         } else {
-            System.out.println("User " + userId + " is already registered for event " + eventId);
+            LOG.debug("User {} is already registered for event {}", userId, eventId);
             return false;
         }
     }
     
+    /**
+     * Hand the seat claimed by {@link EventRoster#claimSeatForPromotion()} to
+     * the waitlisted user, logging the promotion before applying it. Caller
+     * holds the roster lock.
+     * @return LSN of the logged promotion, or 0 if nothing was logged
+     */
+    private long promote(EventRoster registrations, int promotedOrdinal, String eventId, EventStateLog log) {
+        String promotedId = users.idOf(promotedOrdinal);
+        long lsn = 0;
+        try {
+            if (log != null) {
+                lsn = log.registrationChanged(RegistrationChange.PROMOTED, promotedId, eventId);
+            }
+        } catch (RuntimeException e) {
+            registrations.releaseSeat();
+            throw e;
+        }
+        registrations.promote(promotedOrdinal);
+        User promoted = users.get(promotedOrdinal);
+        if (promoted instanceof Student) {
+            ((Student) promoted).registerForEvent(eventId);
+        }
+        LOG.debug("User {} promoted from waitlist for event {}", promotedId, eventId);
+        return lsn;
+    }
+    
     /**
      * Cancel a user's registration for an event
      * @param userId ID of the user to unregister
@@ -96,92 +270,267 @@ public class EventManager implements EventManagerAPI {
      */
     public boolean cancelUserRegistration(String userId, String eventId) {
         // Check if user exists
-        if (!users.containsKey(userId)) {
-            System.out.println("User not found: " + userId);
+        int userOrdinal = users.ordinalOf(userId);
+        User user = users.get(userOrdinal);
+        if (user == null) {
+            LOG.debug("User not found: {}", userId);
             return false;
         }
         
         // Check if event exists
-        if (!events.containsKey(eventId)) {
-            System.out.println("Event not found: " + eventId);
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            LOG.debug("Event not found: {}", eventId);
             return false;
         }
         
         // Remove user from event registrations
-        List<String> registrations = eventRegistrations.get(eventId);
-        if (registrations != null && registrations.remove(userId)) {
-            // If the user is a student, also update their registered events
-            User user = users.get(userId);
-            if (user instanceof Student) {
-                ((Student) user).cancelEventRegistration(eventId);
-            }
-            
-            System.out.println("User " + userId + " unregistered from event " + eventId);
+        EventStateLog log = stateLog;
+        long lsn = 0;
+        boolean removed;
+        boolean leftWaitlist = false;
+        int promoted = -1;
+        synchronized (registrations) {
+            // Each change is logged before it is applied, so a failed append leaves the roster as it was
+            if (registrations.contains(userOrdinal)) {
+                // Log the cancellation ahead of the promotion it causes
+                if (log != null) {
+                    lsn = log.registrationChanged(RegistrationChange.CANCELLED, userId, eventId);
+                }
+                removed = registrations.remove(userOrdinal);
+                registrations.releaseSeat();
+                // If the user is a student, also update their registered events
+                if (user instanceof Student) {
+                    ((Student) user).cancelEventRegistration(eventId);
+                }
+                // The freed seat goes to the next person on the waitlist
+                promoted = registrations.claimSeatForPromotion();
+                if (promoted >= 0) {
+                    lsn = Math.max(lsn, promote(registrations, promoted, eventId, log));
+                }
+            } else {
+                removed = false;
+                if (registrations.isWaitlisted(userOrdinal)) {
+                    if (log != null) {
+                        lsn = log.registrationChanged(RegistrationChange.LEFT_WAITLIST, userId, eventId);
+                    }
+                    leftWaitlist = registrations.removeFromWaitlist(userOrdinal);
+                }
+            }
+        }
+        awaitDurable(log, lsn);
+        if (promoted >= 0) {
+            firePromoted(promoted, eventId);
+        }
+        
+        if (leftWaitlist) {
+            LOG.debug("User {} removed from waitlist for event {}", userId, eventId);
+            return true;
+        } else if (removed) {
+            LOG.debug("User {} unregistered from event {}", userId, eventId);
             return true;
         } else {
-            System.out.println("User " + userId + " was not registered for event " + eventId);
+            LOG.debug("User {} was not registered for event {}", userId, eventId);
             return false;
         }
     }
     
     @Override
     public void notifyParticipants(String eventId, String message) {
-        if (!events.containsKey(eventId)) {
-            System.out.println("Event not found: " + eventId);
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            LOG.debug("Event not found: {}", eventId);
             return;
         }
         
-        List<String> registrations = eventRegistrations.get(eventId);
-        if (registrations != null) {
-            for (String userId : registrations) {
-                User user = users.get(userId);
-                if (user != null) {
-                    System.out.println("Notification sent to " + user.getName() + " (" + user.getEmail() + "): " + message);
-                }
+        for (int userOrdinal : snapshotOf(registrations)) {
+            User user = users.get(userOrdinal);
+            if (user != null) {
+                LOG.debug("Notification sent to {} ({}): {}", user.getName(), user.getEmail(), message);
             }
         }
     }
     
+    /**
+     * All events in the default (date) order
+     */
     @Override
     public List<EventAPI> getAllEvents() {
-        return sorter.sortEvents(new ArrayList<>(events.values()));
+        return eventsSortedByDate();
     }
 
     @Override
     public List<EventAPI> eventsSortedByDate() {
-        sorter.setSortStrategy(new SortByDate());
-        return sorter.sortEvents(new ArrayList<>(events.values()));
+        return sortedEvents.byDate(Integer.MAX_VALUE);
     }
 
     @Override
     public List<EventAPI> eventsSortedByTitle() {
-        sorter.setSortStrategy(new SortByTitle());
-        return sorter.sortEvents(new ArrayList<>(events.values()));
+        return sortedEvents.byTitle(Integer.MAX_VALUE);
+    }
+    
+    /**
+     * First rows of the date order, newest first, without touching the rest
+     * @param limit maximum number of events to return
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<EventAPI> eventsSortedByDate(int limit) {
+        return sortedEvents.byDate(checkLimit(limit));
+    }
+    
+    /**
+     * First rows of the title order, without touching the rest
+     * @param limit maximum number of events to return
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<EventAPI> eventsSortedByTitle(int limit) {
+        return sortedEvents.byTitle(checkLimit(limit));
+    }
+    
+    @Override
+    public List<EventAPI> page(EventOrder order, EventAPI after, int limit) {
+        return sortedEvents.page(order, after, checkLimit(limit));
+    }
+    
+    private static int checkLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Page limit must not be negative: " + limit);
+        }
+        return limit;
+    }
+    
+    @Override
+    public Stream<EventAPI> streamEvents(EventOrder order) {
+        return sortedEvents.stream(order);
+    }
+    
+    @Override
+    public Stream<User> streamUsers() {
+        return users.stream();
+    }
+    
+    /**
+     * @return number of users currently in the system
+     */
+    public int getUserCount() {
+        return users.size();
+    }
+    
+    /**
+     * @return number of events currently in the system
+     */
+    public int getEventCount() {
+        return events.size();
     }
     
     public List<User> getAllUsers() {
-        return new ArrayList<>(users.values());
+        return users.values();
     }
     
     public List<User> getEventParticipants(String eventId) {
-        List<User> participants = new ArrayList<>();
-        List<String> registrations = eventRegistrations.get(eventId);
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            return new ArrayList<>();
+        }
         
+        int[] userOrdinals = snapshotOf(registrations);
+        List<User> participants = new ArrayList<>(userOrdinals.length);
+        for (int userOrdinal : userOrdinals) {
+            User user = users.get(userOrdinal);
+            if (user != null) {
+                participants.add(user);
+            }
+        }
+        return participants;
+    }
+    
+    /**
+     * Open a cursor over an event's registered users, for batched fan-out
+     * without building a User list
+     * @return a cursor, empty if the event does not exist
+     */
+    public RecipientCursor recipients(String eventId) {
+        EventRoster registrations = events.get(eventId);
+        int[] userOrdinals = registrations != null ? snapshotOf(registrations) : new int[0];
+        return new RecipientCursor(userOrdinals, users);
+    }
+
+    @Override
+    public int getParticipantCount(String eventId) {
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            return 0;
+        }
+        synchronized (registrations) {
+            return registrations.size();
+        }
+    }
+    
+    /**
+     * Check whether a user holds a seat at an event (waitlisted users do not)
+     */
+    public boolean isUserRegistered(String userId, String eventId) {
+        EventRoster registrations = events.get(eventId);
+        int userOrdinal = users.ordinalOf(userId);
+        if (registrations == null || userOrdinal < 0) {
+            return false;
+        }
+        synchronized (registrations) {
+            return registrations.contains(userOrdinal);
+        }
+    }
+
+    /**
+     * Get the users waiting for a seat, in the order they will be promoted
+     * @param eventId ID of the event
+     * @return waitlisted users, empty if the event has no waitlist
+     */
+    public List<User> getEventWaitlist(String eventId) {
+        List<User> waiting = new ArrayList<>();
+        EventRoster registrations = events.get(eventId);
         if (registrations != null) {
-            for (String userId : registrations) {
-                User user = users.get(userId);
+            int[] waitlist;
+            synchronized (registrations) {
+                waitlist = registrations.waitlistSnapshot();
+            }
+            for (int userOrdinal : waitlist) {
+                User user = users.get(userOrdinal);
                 if (user != null) {
-                    participants.add(user);
+                    waiting.add(user);
                 }
             }
         }
-        
-        return participants;
+        return waiting;
+    }
+    
+    /**
+     * Get the number of unclaimed seats for an event
+     * @param eventId ID of the event
+     * @return free seats, Integer.MAX_VALUE for unlimited events, or -1 if the event does not exist
+     */
+    public int getAvailableSeats(String eventId) {
+        EventRoster registrations = events.get(eventId);
+        return registrations != null ? registrations.getAvailableSeats() : -1;
+    }
+    
+    /**
+     * Set how many users may queue for a sold-out event. Applies to events added afterwards.
+     * @param waitlistLimit maximum waitlist length, 0 disables waitlists
+     */
+    public void setWaitlistLimit(int waitlistLimit) {
+        this.waitlistLimit = Math.max(waitlistLimit, 0);
+    }
+    
+    private static int[] snapshotOf(EventRoster registrations) {
+        synchronized (registrations) {
+            return registrations.snapshot();
+        }
     }
 
     @Override
     public EventAPI getEvent(String eventId) {
-        return events.get(eventId);
+        EventRoster registrations = events.get(eventId);
+        return registrations != null ? registrations.getEvent() : null;
     }
     
     
@@ -193,14 +542,232 @@ public class EventManager implements EventManagerAPI {
     
     @Override
     public boolean removeEvent(String eventId) {
-        if (events.remove(eventId) != null) {
-            eventRegistrations.remove(eventId);
-            System.out.println("Event removed: " + eventId);
+        EventStateLog log = stateLog;
+        long lsn = dropEvent(eventId, log);
+        if (lsn >= 0) {
+            awaitDurable(log, lsn);
+            LOG.info("Event removed: {}", eventId);
             return true;
         }
         return false;
     }
     
+    /**
+     * Remove an event and close its roster
+     * @return LSN of the logged removal (0 if nothing was logged), or -1 if the event did not exist
+     */
+    private long dropEvent(String eventId, EventStateLog log) {
+        int eventOrdinal = events.ordinalOf(eventId);
+        synchronized (indexLock) {
+            EventRoster registrations = events.get(eventOrdinal);
+            if (registrations == null || !events.clear(eventOrdinal, registrations)) {
+                return -1;
+            }
+            unindex(eventOrdinal, registrations.getEvent());
+            // Logged under the roster lock, after any registration that got in before the close
+            synchronized (registrations) {
+                registrations.close();
+                return log != null ? log.eventRemoved(eventId) : 0;
+            }
+        }
+    }
+    
+    
+    private void unindex(int eventOrdinal, EventAPI event) {
+        sortedEvents.remove(event);
+        for (EventChangeListener listener : listeners) {
+            listener.eventRemoved(eventOrdinal, event);
+        }
+    }
+    
+    /**
+     * Subscribe an index to event changes. The listener is first sent every
+     * event already in the system, so it starts out consistent.
+     * @param listener the index to keep up to date
+     */
+    public void addEventChangeListener(EventChangeListener listener) {
+        synchronized (indexLock) {
+            int limit = events.ordinalLimit();
+            for (int eventOrdinal = 0; eventOrdinal < limit; eventOrdinal++) {
+                EventRoster registrations = events.get(eventOrdinal);
+                if (registrations != null) {
+                    listener.eventAdded(eventOrdinal, registrations.getEvent());
+                }
+            }
+            listeners.add(listener);
+        }
+    }
+    
+    public void removeEventChangeListener(EventChangeListener listener) {
+        synchronized (indexLock) {
+            listeners.remove(listener);
+        }
+    }
+    
+    /**
+     * Subscribe to users promoted from a waitlist, e.g. to tell them they got a seat
+     */
+    public void addPromotionListener(PromotionListener listener) {
+        promotionListeners.add(listener);
+    }
+    
+    public void removePromotionListener(PromotionListener listener) {
+        promotionListeners.remove(listener);
+    }
+    
+    /**
+     * A failing listener is reported and skipped; the promotion itself already happened
+     */
+    private void firePromoted(int userOrdinal, String eventId) {
+        String userId = users.idOf(userOrdinal);
+        for (PromotionListener listener : promotionListeners) {
+            try {
+                listener.userPromoted(userId, eventId);
+            } catch (RuntimeException e) {
+                LOG.error(() -> "Error handling promotion of " + userId + " for event " + eventId, e);
+            }
+        }
+    }
+    
+    /**
+     * Resolve an event ordinal handed out to {@link EventChangeListener}s
+     * @return the event, or null if it has been removed
+     */
+    public EventAPI getEventByOrdinal(int eventOrdinal) {
+        EventRoster registrations = events.get(eventOrdinal);
+        return registrations != null ? registrations.getEvent() : null;
+    }
+    
+    // ==================== DURABILITY ====================
+    
+    /**
+     * Start appending every state change to a log. Attach after the log has
+     * been replayed, so replayed changes are not written a second time.
+     * @param log the log to write to, or null to stop logging
+     */
+    public void attachStateLog(EventStateLog log) {
+        this.stateLog = log;
+    }
+    
+    /**
+     * Walk the whole state without stopping writers. The returned LSN is read
+     * under the locks that order every append, so every change logged before
+     * it is already visible to the walk; changes after it may or may not be
+     * captured, and replaying the log from that LSN fixes them up.
+     * @return LSN the capture covers, or 0 if no log is attached
+     */
+    public long captureState(EventStateVisitor visitor) {
+        EventStateLog log = stateLog;
+        long lsn;
+        synchronized (indexLock) {
+            synchronized (userLock) {
+                lsn = log != null ? log.appendedLsn() : 0;
+            }
+        }
+        int userLimit = users.ordinalLimit();
+        for (int userOrdinal = 0; userOrdinal < userLimit; userOrdinal++) {
+            User user = users.get(userOrdinal);
+            if (user != null) {
+                visitor.visitUser(userOrdinal, user);
+            }
+        }
+        int eventLimit = events.ordinalLimit();
+        for (int eventOrdinal = 0; eventOrdinal < eventLimit; eventOrdinal++) {
+            EventRoster registrations = events.get(eventOrdinal);
+            if (registrations == null) {
+                continue;
+            }
+            int[] registered;
+            int[] waitlisted;
+            synchronized (registrations) {
+                if (registrations.isClosed()) {
+                    continue;
+                }
+                registered = registrations.snapshot();
+                waitlisted = registrations.waitlistSnapshot();
+            }
+            visitor.visitEvent(registrations.getEvent(), registered, waitlisted);
+        }
+        return lsn;
+    }
+    
+    private static void awaitDurable(EventStateLog log, long lsn) {
+        if (log != null && lsn > 0) {
+            log.awaitDurable(lsn);
+        }
+    }
+    
+    // The restore methods below rebuild state from a log or snapshot: nothing is logged or printed,
+    // and registration changes are applied exactly as recorded instead of re-running the seat race.
+    // Each one is idempotent, so replaying log records a snapshot already reflects is harmless.
+    
+    public void restoreEvent(EventAPI event) {
+        if (event != null && event.getId() != null) {
+            putEvent(event, null);
+        }
+    }
+    
+    /**
+     * @return the user's ordinal, or -1 if the user has no ID
+     */
+    public int restoreUser(User user) {
+        if (user == null || user.getId() == null) {
+            return -1;
+        }
+        int userOrdinal = users.intern(user.getId());
+        users.set(userOrdinal, user);
+        return userOrdinal;
+    }
+    
+    /**
+     * Load an event's captured registrations and waitlist in one step.
+     * Ordinals are those returned by {@link #restoreUser(User)}; students' own
+     * registration lists are restored separately.
+     */
+    public void restoreRoster(String eventId, int[] registeredUserOrdinals, int[] waitlistedUserOrdinals) {
+        EventRoster registrations = events.get(eventId);
+        if (registrations != null) {
+            synchronized (registrations) {
+                registrations.restoreAll(registeredUserOrdinals, waitlistedUserOrdinals);
+            }
+        }
+    }
+    
+    public void restoreEventRemoval(String eventId) {
+        dropEvent(eventId, null);
+    }
+    
+    public void restoreRegistration(RegistrationChange change, String userId, String eventId) {
+        EventRoster registrations = events.get(eventId);
+        if (registrations == null) {
+            return;
+        }
+        int userOrdinal = users.intern(userId);
+        User user = users.get(userOrdinal);
+        synchronized (registrations) {
+            switch (change) {
+                case REGISTERED:
+                case PROMOTED:
+                    registrations.restoreRegistration(userOrdinal);
+                    if (user instanceof Student) {
+                        ((Student) user).restoreEventRegistration(eventId);
+                    }
+                    break;
+                case WAITLISTED:
+                    registrations.restoreWaitlisted(userOrdinal);
+                    break;
+                case CANCELLED:
+                    registrations.restoreCancellation(userOrdinal);
+                    if (user instanceof Student) {
+                        ((Student) user).restoreEventCancellation(eventId);
+                    }
+                    break;
+                case LEFT_WAITLIST:
+                    registrations.removeFromWaitlist(userOrdinal);
+                    break;
+            }
+        }
+    }
     
     @Override
     public String getSystemStats() {
@@ -2,12 +2,20 @@ package edu.neu.csye7374.manager;
 
 import edu.neu.csye7374.event.EventAPI;
 import edu.neu.csye7374.user.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EventManagerAPI {
 
     boolean addEvent(EventAPI event);
 
+    /**
+     * Add many events in one step, for bulk loads
+     * @return number of events added
+     */
+    int addAllEvents(Collection<? extends EventAPI> events);
+
     boolean registerUser(User user);
 
     boolean registerUserForEvent(String userId, String eventId);
@@ -22,8 +30,29 @@ public interface EventManagerAPI {
 
     List<User> getAllUsers();
 
+    /**
+     * Seek-based pagination over the event index
+     * @param order order to walk the events in
+     * @param after last event of the previous page, or null for the first page
+     * @param limit maximum number of events to return; 0 gives an empty page
+     * @throws IllegalArgumentException if limit is negative
+     */
+    List<EventAPI> page(EventOrder order, EventAPI after, int limit);
+
+    /**
+     * Lazily walk every event in the given order without copying the index
+     */
+    Stream<EventAPI> streamEvents(EventOrder order);
+
+    /**
+     * Lazily walk every user without copying the user table
+     */
+    Stream<User> streamUsers();
+
     List<User> getEventParticipants(String eventId);
 
+    int getParticipantCount(String eventId);
+
     EventAPI getEvent(String eventId);
 
     User getUser(String userId);
@@ -0,0 +1,11 @@
+package edu.neu.csye7374.manager;
+
+/**
+ * Orders the event index can be walked in, matching the sort strategies
+ */
+public enum EventOrder {
+    // Newest first, ties broken by event ID
+    DATE,
+    // Title Z to A, ties broken by event ID
+    TITLE
+}
@@ -0,0 +1,238 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.util.IntLinkedSet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An event together with its registration list, seat counter and waitlist.
+ * Every roster is its own lock (callers synchronize on the roster), so
+ * registrations for different events never contend with each other.
+ * Seats are claimed with a lock-free compare-and-set before the lock is
+ * taken, which lets a sold-out event turn requests away without allocating.
+ * Registrations and the waitlist hold interned user ordinals in primitive
+ * insertion-ordered sets: membership checks are O(1), nothing is boxed, and
+ * iteration still follows registration order.
+ */
+class EventRoster {
+
+    private final EventAPI event;
+    private final int capacity;
+    private final int waitlistLimit;
+    private final AtomicInteger claimedSeats;
+
+    private final IntLinkedSet registrations;
+    private final IntLinkedSet waitlist;
+    private volatile int waitingCount;
+    private boolean closed;
+
+    /**
+     * @param event the event; its capacity sets the number of seats (zero or negative means unlimited)
+     * @param waitlistLimit maximum number of users that can wait for a seat
+     */
+    EventRoster(EventAPI event, int waitlistLimit) {
+        this.event = event;
+        this.capacity = event.getCapacity() > 0 ? event.getCapacity() : Integer.MAX_VALUE;
+        this.waitlistLimit = Math.max(waitlistLimit, 0);
+        this.claimedSeats = new AtomicInteger();
+        this.registrations = new IntLinkedSet(Math.min(this.capacity, 64));
+        this.waitlist = new IntLinkedSet();
+    }
+
+    EventAPI getEvent() {
+        return event;
+    }
+
+    // ==================== SEATS (lock-free) ====================
+
+    /**
+     * Claim one seat with compare-and-set
+     * @return true if a seat was claimed, false if the event is full
+     */
+    boolean tryClaimSeat() {
+        for (;;) {
+            int claimed = claimedSeats.get();
+            if (claimed >= capacity) {
+                return false;
+            }
+            if (claimedSeats.compareAndSet(claimed, claimed + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Lock-free check used to keep the waitlist FIFO: while anyone is waiting,
+     * newcomers queue behind them instead of racing for a freed seat
+     */
+    boolean hasWaiters() {
+        return waitingCount > 0;
+    }
+
+    int getAvailableSeats() {
+        return capacity == Integer.MAX_VALUE ? Integer.MAX_VALUE : capacity - claimedSeats.get();
+    }
+
+    // ==================== MEMBERSHIP (caller holds the roster lock) ====================
+
+    /**
+     * Add a user who already holds a claimed seat
+     * @return true if the user was added, false if already registered or the event was removed
+     */
+    boolean add(int userOrdinal) {
+        if (closed) {
+            return false;
+        }
+        return registrations.add(userOrdinal);
+    }
+
+    boolean remove(int userOrdinal) {
+        return registrations.remove(userOrdinal);
+    }
+
+    boolean contains(int userOrdinal) {
+        return registrations.contains(userOrdinal);
+    }
+
+    /**
+     * Put a user at the back of the waitlist
+     * @return true if queued, false if already registered, already waiting or the waitlist is full
+     */
+    boolean enqueueWaitlist(int userOrdinal) {
+        if (closed || waitlist.size() >= waitlistLimit
+                || registrations.contains(userOrdinal) || waitlist.contains(userOrdinal)) {
+            return false;
+        }
+        waitlist.add(userOrdinal);
+        waitingCount = waitlist.size();
+        return true;
+    }
+
+    boolean removeFromWaitlist(int userOrdinal) {
+        boolean removed = waitlist.remove(userOrdinal);
+        waitingCount = waitlist.size();
+        return removed;
+    }
+
+    boolean isWaitlisted(int userOrdinal) {
+        return waitlist.contains(userOrdinal);
+    }
+
+    /**
+     * @return true if the user can join the waitlist: not registered, not already waiting, and there is room
+     */
+    boolean canWaitlist(int userOrdinal) {
+        return !closed && waitlist.size() < waitlistLimit
+                && !registrations.contains(userOrdinal) && !waitlist.contains(userOrdinal);
+    }
+
+    /**
+     * Give back a claimed seat without registering anyone in it
+     */
+    void releaseSeat() {
+        claimedSeats.decrementAndGet();
+    }
+
+    /**
+     * Claim a free seat for the head of the waitlist without moving anyone yet,
+     * so the promotion can be logged first; follow with {@link #promote(int)},
+     * or {@link #releaseSeat()} if logging fails
+     * @return the user to promote, or -1 (and no seat claimed) if nobody can be promoted
+     */
+    int claimSeatForPromotion() {
+        if (closed || waitlist.isEmpty() || !tryClaimSeat()) {
+            return -1;
+        }
+        return waitlist.peekFirst();
+    }
+
+    /**
+     * Move a user holding a seat from {@link #claimSeatForPromotion()} off the waitlist into the registrations
+     */
+    void promote(int userOrdinal) {
+        waitlist.remove(userOrdinal);
+        registrations.add(userOrdinal);
+        waitingCount = waitlist.size();
+    }
+
+    // ==================== RECOVERY (caller holds the roster lock) ====================
+
+    /**
+     * Re-seat a user exactly as the log recorded it, without racing for a seat
+     */
+    void restoreRegistration(int userOrdinal) {
+        waitlist.remove(userOrdinal);
+        if (registrations.add(userOrdinal)) {
+            claimedSeats.incrementAndGet();
+        }
+        waitingCount = waitlist.size();
+    }
+
+    /**
+     * Load a captured roster in one step; seats are counted from the registrations
+     */
+    void restoreAll(int[] registeredUserOrdinals, int[] waitlistedUserOrdinals) {
+        for (int userOrdinal : registeredUserOrdinals) {
+            if (registrations.add(userOrdinal)) {
+                claimedSeats.incrementAndGet();
+            }
+        }
+        for (int userOrdinal : waitlistedUserOrdinals) {
+            waitlist.add(userOrdinal);
+        }
+        waitingCount = waitlist.size();
+    }
+
+    void restoreWaitlisted(int userOrdinal) {
+        if (registrations.remove(userOrdinal)) {
+            claimedSeats.decrementAndGet();
+        }
+        waitlist.add(userOrdinal);
+        waitingCount = waitlist.size();
+    }
+
+    /**
+     * Undo a registration without promoting anyone; promotions are logged separately
+     */
+    void restoreCancellation(int userOrdinal) {
+        if (registrations.remove(userOrdinal)) {
+            claimedSeats.decrementAndGet();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Mark the roster as belonging to a removed event so late registrations are rejected
+     */
+    void close() {
+        closed = true;
+        waitlist.clear();
+        waitingCount = 0;
+    }
+
+    /**
+     * @return registered user ordinals in registration order
+     */
+    int[] snapshot() {
+        return registrations.toArray();
+    }
+
+    /**
+     * @return waiting user ordinals in promotion order
+     */
+    int[] waitlistSnapshot() {
+        return waitlist.toArray();
+    }
+
+    int size() {
+        return registrations.size();
+    }
+
+    int waitlistSize() {
+        return waitlist.size();
+    }
+}
@@ -0,0 +1,45 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.user.User;
+
+/**
+ * Durable record of every state change made by {@link EventManager}.
+ * EventManager calls the append methods while it still holds the lock that
+ * ordered the change, so the log order is the order changes really happened.
+ * Each append returns a log sequence number (LSN); EventManager waits on
+ * {@link #awaitDurable(long)} only after it has released its locks, so
+ * concurrent writers can share one flush (group commit).
+ */
+public interface EventStateLog {
+
+    /**
+     * Outcomes of registration calls, logged as they happened so replay
+     * never has to re-run the seat race that produced them
+     */
+    enum RegistrationChange {
+        REGISTERED,
+        WAITLISTED,
+        PROMOTED,
+        CANCELLED,
+        LEFT_WAITLIST
+    }
+
+    long eventAdded(EventAPI event);
+
+    long eventRemoved(String eventId);
+
+    long userRegistered(User user);
+
+    long registrationChanged(RegistrationChange change, String userId, String eventId);
+
+    /**
+     * @return LSN just past the last appended record
+     */
+    long appendedLsn();
+
+    /**
+     * Block until everything up to the given LSN is on stable storage
+     */
+    void awaitDurable(long lsn);
+}
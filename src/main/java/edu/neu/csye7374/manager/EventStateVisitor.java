@@ -0,0 +1,18 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.user.User;
+
+/**
+ * Receives the contents of {@link EventManager} during
+ * {@link EventManager#captureState(EventStateVisitor)}: every user first, in
+ * ordinal order, then every event with the ordinals of its registered and
+ * waitlisted users. Each event is captured atomically under its roster lock;
+ * the capture as a whole is not a single point in time.
+ */
+public interface EventStateVisitor {
+
+    void visitUser(int userOrdinal, User user);
+
+    void visitEvent(EventAPI event, int[] registeredUserOrdinals, int[] waitlistedUserOrdinals);
+}
@@ -0,0 +1,12 @@
+package edu.neu.csye7374.manager;
+
+/**
+ * Observer for seats handed to the head of an event's waitlist by
+ * {@link EventManager}. Called on the thread whose cancellation freed the
+ * seat, after the promotion is applied (and durable, when a log is attached)
+ * and outside every EventManager lock, so a listener may call back into it.
+ */
+public interface PromotionListener {
+
+    void userPromoted(String userId, String eventId);
+}
@@ -0,0 +1,45 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.user.User;
+import edu.neu.csye7374.util.IdRegistry;
+
+/**
+ * Walks the registrations of one event in batches of contact records.
+ * The roster's user ordinals are copied once when the cursor is opened;
+ * each step then resolves ordinals with array reads into the user registry
+ * (no hashing, no intermediate User list) and fills the caller's
+ * {@link ContactBatch}. Users removed since the cursor was opened are skipped.
+ */
+public final class RecipientCursor {
+
+    private final int[] userOrdinals;
+    private final IdRegistry<User> users;
+    private int position;
+
+    RecipientCursor(int[] userOrdinals, IdRegistry<User> users) {
+        this.userOrdinals = userOrdinals;
+        this.users = users;
+    }
+
+    /**
+     * @return recipients not yet handed out, at most
+     */
+    public int remaining() {
+        return userOrdinals.length - position;
+    }
+
+    /**
+     * Refill the batch with the next recipients
+     * @return false once every recipient has been handed out
+     */
+    public boolean next(ContactBatch batch) {
+        batch.clear();
+        while (position < userOrdinals.length && !batch.isFull()) {
+            User user = users.get(userOrdinals[position++]);
+            if (user != null) {
+                batch.add(user);
+            }
+        }
+        return !batch.isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.strategy.KeyedEvent;
+import edu.neu.csye7374.strategy.SortByDate;
+import edu.neu.csye7374.strategy.SortByTitle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent ordered views of the events, kept up to date on add/remove
+ * instead of re-sorting on every read.
+ * Orders match the sort strategies: newest date first, and title Z to A,
+ * with the event ID as tie-breaker so every event has a unique position.
+ * Sort keys are captured once per event ({@link KeyedEvent}), so comparisons
+ * never call back into (possibly decorated) EventAPI getters.
+ * Reads walk the skip lists without locking; the first k rows cost O(k),
+ * and a page after a given row seeks to it in O(log n) before walking.
+ */
+class SortedEventIndex {
+
+    static final Comparator<KeyedEvent> BY_DATE = SortByDate.ORDER.thenComparing(KeyedEvent.BY_ID);
+
+    static final Comparator<KeyedEvent> BY_TITLE = SortByTitle.ORDER.thenComparing(KeyedEvent.BY_ID);
+
+    private final NavigableSet<KeyedEvent> byDate;
+    private final NavigableSet<KeyedEvent> byTitle;
+
+    SortedEventIndex() {
+        this.byDate = new ConcurrentSkipListSet<>(BY_DATE);
+        this.byTitle = new ConcurrentSkipListSet<>(BY_TITLE);
+    }
+
+    void add(EventAPI event) {
+        KeyedEvent entry = new KeyedEvent(event);
+        byDate.add(entry);
+        byTitle.add(entry);
+    }
+
+    void remove(EventAPI event) {
+        KeyedEvent entry = new KeyedEvent(event);
+        byDate.remove(entry);
+        byTitle.remove(entry);
+    }
+
+    List<EventAPI> byDate(int limit) {
+        return firstRows(byDate, limit);
+    }
+
+    List<EventAPI> byTitle(int limit) {
+        return firstRows(byTitle, limit);
+    }
+
+    /**
+     * Rows that come strictly after the given event in the chosen order
+     * @param after last row of the previous page, or null for the first page;
+     *              it does not need to still be in the index
+     */
+    List<EventAPI> page(EventOrder order, EventAPI after, int limit) {
+        NavigableSet<KeyedEvent> view = view(order);
+        if (after != null) {
+            view = view.tailSet(new KeyedEvent(after), false);
+        }
+        return firstRows(view, limit);
+    }
+
+    /**
+     * Weakly consistent stream over the live index; nothing is copied up front
+     */
+    Stream<EventAPI> stream(EventOrder order) {
+        return StreamSupport.stream(view(order).spliterator(), false).map(KeyedEvent::getEvent);
+    }
+
+    private NavigableSet<KeyedEvent> view(EventOrder order) {
+        return order == EventOrder.TITLE ? byTitle : byDate;
+    }
+
+    private static List<EventAPI> firstRows(NavigableSet<KeyedEvent> view, int limit) {
+        List<EventAPI> rows = new ArrayList<>(Math.min(limit, 64));
+        Iterator<KeyedEvent> it = view.iterator();
+        while (rows.size() < limit && it.hasNext()) {
+            rows.add(it.next().getEvent());
+        }
+        return rows;
+    }
+}
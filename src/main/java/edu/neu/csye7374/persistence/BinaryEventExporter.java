@@ -0,0 +1,110 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compact, indexed binary export, streamed through a {@link FileChannel}.
+ *
+ * Layout:
+ * <pre>
+ * [magic "CESX"][version]
+ * block*   : records of [varint length][event record], up to BLOCK_EVENTS per block
+ * footer   : per block [long offset][int byte length][int event count]
+ *            [int min epoch day][int max epoch day][int crc32]
+ * trailer  : [long footer offset][int block count][long event count][int footer crc32][magic]
+ * </pre>
+ * Event records use the same encoding as the write-ahead log. The footer
+ * lets a reader count events, jump to any block, and skip blocks outside a
+ * date range without decoding them; see {@link BinaryEventImporter}.
+ */
+public class BinaryEventExporter implements EventExporter {
+
+    static final int MAGIC = 0x43455358; // "CESX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int INDEX_ENTRY_BYTES = 28;
+    static final int TRAILER_BYTES = 28;
+    // Days stored for events without a date, kept out of every real range
+    static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final int BLOCK_EVENTS = 1024;
+
+    @Override
+    public long export(Iterable<? extends EventAPI> events, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordBuffer header = new RecordBuffer(HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.writeTo(channel);
+
+            RecordBuffer block = new RecordBuffer(256 * 1024);
+            RecordBuffer record = new RecordBuffer(512);
+            RecordBuffer index = new RecordBuffer(4096);
+            CRC32 crc = new CRC32();
+            long offset = HEADER_BYTES;
+            long total = 0;
+            int blocks = 0;
+            int inBlock = 0;
+            int minDay = Integer.MAX_VALUE;
+            int maxDay = Integer.MIN_VALUE;
+
+            for (EventAPI event : events) {
+                record.clear();
+                EventCodec.writeEvent(record, event);
+                block.putVarInt(record.size());
+                block.putBytes(record);
+                int day = event.getDate() != null ? (int) event.getDate().toEpochDay() : NO_DAY;
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+                total++;
+                if (++inBlock == BLOCK_EVENTS) {
+                    offset = writeBlock(channel, block, index, crc, offset, inBlock, minDay, maxDay);
+                    blocks++;
+                    inBlock = 0;
+                    minDay = Integer.MAX_VALUE;
+                    maxDay = Integer.MIN_VALUE;
+                }
+            }
+            if (inBlock > 0) {
+                offset = writeBlock(channel, block, index, crc, offset, inBlock, minDay, maxDay);
+                blocks++;
+            }
+
+            int footerCrc = index.checksum(crc, 0);
+            index.writeTo(channel);
+            RecordBuffer trailer = new RecordBuffer(TRAILER_BYTES);
+            trailer.putLong(offset);
+            trailer.putInt(blocks);
+            trailer.putLong(total);
+            trailer.putInt(footerCrc);
+            trailer.putInt(MAGIC);
+            trailer.writeTo(channel);
+            channel.force(true);
+            return total;
+        }
+    }
+
+    /**
+     * @return file offset just past the block
+     */
+    private static long writeBlock(FileChannel channel, RecordBuffer block, RecordBuffer index, CRC32 crc,
+                                   long offset, int count, int minDay, int maxDay) throws IOException {
+        index.putLong(offset);
+        index.putInt(block.size());
+        index.putInt(count);
+        index.putInt(minDay);
+        index.putInt(maxDay);
+        index.putInt(block.checksum(crc, 0));
+        block.writeTo(channel);
+        long next = offset + block.size();
+        block.clear();
+        return next;
+    }
+}
@@ -0,0 +1,183 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventManagerAPI;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Reads files written by {@link BinaryEventExporter}. Opening reads only the
+ * trailer and footer index; blocks are then read one at a time through the
+ * {@link FileChannel}, and a date-range read skips every block whose day
+ * range misses the query without reading it.
+ */
+public class BinaryEventImporter implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockCounts;
+    private final int[] blockMinDays;
+    private final int[] blockMaxDays;
+    private final int[] blockChecksums;
+    private final long eventCount;
+
+    public BinaryEventImporter(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < BinaryEventExporter.HEADER_BYTES + BinaryEventExporter.TRAILER_BYTES) {
+                throw new IOException("Not an event export: " + file);
+            }
+            ByteBuffer header = read(0, BinaryEventExporter.HEADER_BYTES);
+            ByteBuffer trailer = read(size - BinaryEventExporter.TRAILER_BYTES, BinaryEventExporter.TRAILER_BYTES);
+            if (header.getInt() != BinaryEventExporter.MAGIC
+                    || trailer.getInt(BinaryEventExporter.TRAILER_BYTES - 4) != BinaryEventExporter.MAGIC) {
+                throw new IOException("Not an event export: " + file);
+            }
+            if (header.getInt() != BinaryEventExporter.VERSION) {
+                throw new IOException("Unsupported event export version in " + file);
+            }
+            long footerOffset = trailer.getLong();
+            int blocks = trailer.getInt();
+            this.eventCount = trailer.getLong();
+            int footerCrc = trailer.getInt();
+
+            ByteBuffer footer = read(footerOffset, blocks * BinaryEventExporter.INDEX_ENTRY_BYTES);
+            if (checksum(footer) != footerCrc) {
+                throw new IOException("Corrupt footer index in " + file);
+            }
+            this.blockOffsets = new long[blocks];
+            this.blockLengths = new int[blocks];
+            this.blockCounts = new int[blocks];
+            this.blockMinDays = new int[blocks];
+            this.blockMaxDays = new int[blocks];
+            this.blockChecksums = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                blockOffsets[i] = footer.getLong();
+                blockLengths[i] = footer.getInt();
+                blockCounts[i] = footer.getInt();
+                blockMinDays[i] = footer.getInt();
+                blockMaxDays[i] = footer.getInt();
+                blockChecksums[i] = footer.getInt();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of events in the file, from the trailer alone
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Decode every event in file order
+     */
+    public void forEach(Consumer<? super EventAPI> action) throws IOException {
+        forEachInRange(null, null, action);
+    }
+
+    /**
+     * Decode the events dated inside a range, reading only the blocks that can hold them
+     * @param startDate first day included, or null for no lower bound
+     * @param endDate last day included, or null for no upper bound
+     */
+    public void forEachInRange(LocalDate startDate, LocalDate endDate, Consumer<? super EventAPI> action) throws IOException {
+        boolean filtered = startDate != null || endDate != null;
+        long from = startDate != null ? startDate.toEpochDay() : Long.MIN_VALUE;
+        long to = endDate != null ? endDate.toEpochDay() : Long.MAX_VALUE;
+        for (int i = 0; i < blockOffsets.length; i++) {
+            if (filtered && (blockMaxDays[i] < from || blockMinDays[i] > to)) {
+                continue;
+            }
+            readBlock(i, filtered, from, to, action);
+        }
+    }
+
+    private void readBlock(int i, boolean filtered, long from, long to, Consumer<? super EventAPI> action) throws IOException {
+        ByteBuffer block = read(blockOffsets[i], blockLengths[i]);
+        if (checksum(block) != blockChecksums[i]) {
+            throw new IOException("Corrupt block " + i + " in " + file);
+        }
+        for (int n = 0; n < blockCounts[i]; n++) {
+            int length = RecordBuffer.getVarInt(block);
+            int next = block.position() + length;
+            EventAPI event = EventCodec.readEvent(block);
+            block.position(next);
+            if (!filtered || inRange(event, from, to)) {
+                action.accept(event);
+            }
+        }
+    }
+
+    public List<EventAPI> readAll() throws IOException {
+        List<EventAPI> events = new ArrayList<>((int) Math.min(eventCount, Integer.MAX_VALUE));
+        forEach(events::add);
+        return events;
+    }
+
+    /**
+     * Add every event in the file to the manager, one block per batch
+     * @return number of events imported
+     */
+    public long importInto(EventManagerAPI manager) throws IOException {
+        List<EventAPI> batch = new ArrayList<>();
+        long imported = 0;
+        for (int i = 0; i < blockOffsets.length; i++) {
+            batch.clear();
+            readBlock(i, false, 0, 0, batch::add);
+            imported += manager.addAllEvents(batch);
+        }
+        return imported;
+    }
+
+    private static boolean inRange(EventAPI event, long from, long to) {
+        if (event.getDate() == null) {
+            return false;
+        }
+        long day = event.getDate().toEpochDay();
+        return day >= from && day <= to;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + file);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,355 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Off-heap, memory-mapped columnar store for large numbers of (typically
+ * historical) events. Each column is its own mapped file:
+ * <ul>
+ *   <li>type.col - one byte per row (lecture / seminar / workshop)</li>
+ *   <li>day.col - int epoch day per row</li>
+ *   <li>capacity.col - int capacity per row</li>
+ *   <li>text.off - long offset per row into text.dat, where the row's id,
+ *       title, description and location sit back to back, varint
+ *       length-prefixed UTF-8</li>
+ * </ul>
+ * The row number is the event's ordinal in the store. Nothing per event
+ * lives on the Java heap: {@link #view(int)} hands out a two-field flyweight
+ * {@link EventAPI} that reads its fields from the mapping on demand, and
+ * date and capacity scans walk a single dense int column.
+ *
+ * Appends are single-writer and publish the new row count last, so readers
+ * never see a half-written row and need no lock. {@link #flush()} forces the
+ * columns before recording the row count, so after a crash the store reopens
+ * with a consistent prefix of the rows.
+ */
+public class ColumnarEventStore implements Closeable {
+
+    private static final int MAGIC = 0x43455343; // "CESC"
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int ID = 0;
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int LOCATION = 3;
+
+    private final MappedColumn types;
+    private final MappedColumn days;
+    private final MappedColumn capacities;
+    private final MappedColumn textOffsets;
+    private final MappedColumn text;
+    private final FileChannel meta;
+    private final RecordBuffer encoder;
+
+    private volatile int rowCount;
+    // Guarded by this
+    private long textSize;
+
+    /**
+     * Open (or create) a store in a directory
+     */
+    public ColumnarEventStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.types = new MappedColumn(directory.resolve("type.col"));
+        this.days = new MappedColumn(directory.resolve("day.col"));
+        this.capacities = new MappedColumn(directory.resolve("capacity.col"));
+        this.textOffsets = new MappedColumn(directory.resolve("text.off"));
+        this.text = new MappedColumn(directory.resolve("text.dat"));
+        this.meta = FileChannel.open(directory.resolve("store.meta"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.encoder = new RecordBuffer(512);
+        readMeta();
+    }
+
+    private void readMeta() throws IOException {
+        if (meta.size() < 16) {
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(16);
+        while (header.hasRemaining()) {
+            meta.read(header, header.position());
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a columnar event store");
+        }
+        rowCount = header.getInt();
+        textSize = header.getLong();
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Add an event as a new row
+     * @return the row number
+     */
+    public synchronized int append(EventAPI event) throws IOException {
+        int row = rowCount;
+        encoder.clear();
+        encoder.putString(event.getId());
+        encoder.putString(event.getTitle());
+        encoder.putString(event.getDescription());
+        encoder.putString(event.getLocation());
+
+        types.ensureCapacity(row + 1L);
+        days.ensureCapacity((row + 1L) * 4);
+        capacities.ensureCapacity((row + 1L) * 4);
+        textOffsets.ensureCapacity((row + 1L) * 8);
+        text.ensureCapacity(textSize + encoder.size());
+
+        types.put(row, EventCodec.typeOf(event));
+        days.putInt(row * 4L, event.getDate() != null ? (int) event.getDate().toEpochDay() : NO_DATE);
+        capacities.putInt(row * 4L, event.getCapacity());
+        textOffsets.putLong(row * 8L, textSize);
+        encoder.copyTo(text, textSize);
+        textSize += encoder.size();
+        rowCount = row + 1;
+        return row;
+    }
+
+    /**
+     * @return number of events appended
+     */
+    public synchronized int appendAll(Iterable<? extends EventAPI> events) throws IOException {
+        int appended = 0;
+        for (EventAPI event : events) {
+            append(event);
+            appended++;
+        }
+        return appended;
+    }
+
+    /**
+     * Force the columns to disk, then record how many rows they hold
+     */
+    public synchronized void flush() throws IOException {
+        types.force();
+        days.force();
+        capacities.force();
+        textOffsets.force();
+        text.force();
+        ByteBuffer header = ByteBuffer.allocate(16);
+        header.putInt(MAGIC).putInt(rowCount).putLong(textSize).flip();
+        while (header.hasRemaining()) {
+            meta.write(header, header.position());
+        }
+        meta.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        types.close();
+        days.close();
+        capacities.close();
+        textOffsets.close();
+        text.close();
+        meta.close();
+    }
+
+    // ==================== READING ====================
+
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Flyweight view of a row; every getter reads the mapping
+     */
+    public EventAPI view(int row) {
+        checkRow(row);
+        return new EventView(this, row);
+    }
+
+    /**
+     * Rebuild a row as an ordinary heap event, e.g. to add it back to the EventManager
+     */
+    public EventAPI load(int row) {
+        checkRow(row);
+        return EventCodec.factoryFor(types.get(row)).createEvent(text(row, ID), text(row, TITLE),
+                text(row, DESCRIPTION), date(row), text(row, LOCATION), capacity(row));
+    }
+
+    /**
+     * Lazily walk every row as a flyweight view
+     */
+    public Stream<EventAPI> stream() {
+        return IntStream.range(0, rowCount).mapToObj(row -> new EventView(this, row));
+    }
+
+    /**
+     * Scan the day column for events dated inside a range
+     * @param startDate first day included, or null for no lower bound
+     * @param endDate last day included, or null for no upper bound
+     * @return matching rows in ascending order
+     */
+    public int[] rowsInDateRange(LocalDate startDate, LocalDate endDate) {
+        long from = startDate != null ? startDate.toEpochDay() : NO_DATE + 1L;
+        long to = endDate != null ? endDate.toEpochDay() : Integer.MAX_VALUE;
+        int limit = rowCount;
+        int[] rows = new int[64];
+        int n = 0;
+        for (int row = 0; row < limit; row++) {
+            int day = days.getInt(row * 4L);
+            if (day >= from && day <= to) {
+                if (n == rows.length) {
+                    rows = Arrays.copyOf(rows, n * 2);
+                }
+                rows[n++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, n);
+    }
+
+    /**
+     * Count the events dated inside a range without collecting them
+     */
+    public int countInDateRange(LocalDate startDate, LocalDate endDate) {
+        long from = startDate != null ? startDate.toEpochDay() : NO_DATE + 1L;
+        long to = endDate != null ? endDate.toEpochDay() : Integer.MAX_VALUE;
+        int limit = rowCount;
+        int count = 0;
+        for (int row = 0; row < limit; row++) {
+            int day = days.getInt(row * 4L);
+            if (day >= from && day <= to) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scan the capacity column for events whose capacity lies in a range
+     * @return matching rows in ascending order
+     */
+    public int[] rowsWithCapacity(int minCapacity, int maxCapacity) {
+        int limit = rowCount;
+        int[] rows = new int[64];
+        int n = 0;
+        for (int row = 0; row < limit; row++) {
+            int capacity = capacities.getInt(row * 4L);
+            if (capacity >= minCapacity && capacity <= maxCapacity) {
+                if (n == rows.length) {
+                    rows = Arrays.copyOf(rows, n * 2);
+                }
+                rows[n++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, n);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+        }
+    }
+
+    int capacity(int row) {
+        return capacities.getInt(row * 4L);
+    }
+
+    LocalDate date(int row) {
+        int day = days.getInt(row * 4L);
+        return day != NO_DATE ? LocalDate.ofEpochDay(day) : null;
+    }
+
+    /**
+     * Decode one of the row's strings, skipping the ones stored before it
+     */
+    String text(int row, int field) {
+        long position = textOffsets.getLong(row * 8L);
+        for (int i = 0; ; i++) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = text.get(position++);
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            length -= 1;
+            if (i == field) {
+                if (length < 0) {
+                    return null;
+                }
+                byte[] utf8 = new byte[length];
+                text.getBytes(position, utf8, length);
+                return new String(utf8, StandardCharsets.UTF_8);
+            }
+            position += Math.max(length, 0);
+        }
+    }
+
+    /**
+     * Two-field flyweight over one row of the store
+     */
+    private static final class EventView implements EventAPI {
+
+        private final ColumnarEventStore store;
+        private final int row;
+
+        EventView(ColumnarEventStore store, int row) {
+            this.store = store;
+            this.row = row;
+        }
+
+        @Override
+        public String getId() {
+            return store.text(row, ID);
+        }
+
+        @Override
+        public String getTitle() {
+            return store.text(row, TITLE);
+        }
+
+        @Override
+        public String getDescription() {
+            return store.text(row, DESCRIPTION);
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return store.date(row);
+        }
+
+        @Override
+        public String getLocation() {
+            return store.text(row, LOCATION);
+        }
+
+        @Override
+        public int getCapacity() {
+            return store.capacity(row);
+        }
+
+        @Override
+        public String getDetails() {
+            // Formatted by the event type itself so the text matches exactly
+            return store.load(row).getDetails();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EventView && ((EventView) o).store == store && ((EventView) o).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+    }
+}
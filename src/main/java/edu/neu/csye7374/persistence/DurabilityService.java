@@ -0,0 +1,111 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.EventManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link EventManager} durable in one data directory: a
+ * {@link WriteAheadLog} under "wal" and a {@link SnapshotStore} under "snapshots".
+ * Cold start loads the newest snapshot and replays only the log written
+ * after it. Checkpoints write a new snapshot in the background while
+ * writers keep going, then delete the log segments no kept snapshot needs.
+ */
+public class DurabilityService implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(DurabilityService.class);
+
+    // The previous snapshot is kept as a fallback, so the log reaches back to it
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    private final EventManager manager;
+    private final WriteAheadLog log;
+    private final SnapshotStore snapshots;
+    private final ScheduledExecutorService scheduler;
+    private volatile long lastCheckpointLsn;
+
+    private DurabilityService(EventManager manager, WriteAheadLog log, SnapshotStore snapshots, long snapshotLsn) {
+        this.manager = manager;
+        this.log = log;
+        this.snapshots = snapshots;
+        this.lastCheckpointLsn = snapshotLsn;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Restore the manager from the data directory and start logging its changes
+     * @param dataDirectory holds the log and the snapshots; created if missing
+     * @param syncCommit true to make callers wait until their change is on disk
+     */
+    public static DurabilityService open(Path dataDirectory, EventManager manager, boolean syncCommit) throws IOException {
+        long started = System.nanoTime();
+        SnapshotStore snapshots = new SnapshotStore(dataDirectory.resolve("snapshots"));
+        long snapshotLsn = snapshots.loadLatest(manager);
+        WriteAheadLog log = new WriteAheadLog(dataDirectory.resolve("wal"), syncCommit);
+        long replayed = log.replay(manager, snapshotLsn);
+        manager.attachStateLog(log);
+        LOG.info("Recovered {} events and {} users in {} ms (snapshot at offset {}, {} log records replayed)",
+                manager.getEventCount(), manager.getUserCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshotLsn, replayed);
+        return new DurabilityService(manager, log, snapshots, snapshotLsn);
+    }
+
+    /**
+     * Write a snapshot and drop the log segments it makes unnecessary
+     * @return the LSN the new snapshot covers
+     */
+    public synchronized long checkpoint() throws IOException {
+        long lsn = snapshots.write(manager);
+        long oldestKept = snapshots.prune(SNAPSHOTS_KEPT);
+        log.compact(oldestKept);
+        lastCheckpointLsn = lsn;
+        return lsn;
+    }
+
+    /**
+     * Checkpoint periodically on a background thread, skipping rounds in which
+     * the log has not grown by at least minLogBytes
+     */
+    public void scheduleCheckpoints(long period, TimeUnit unit, long minLogBytes) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (log.appendedLsn() - lastCheckpointLsn < minLogBytes) {
+                return;
+            }
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                LOG.error("Checkpoint failed: {}", e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    public WriteAheadLog getLog() {
+        return log;
+    }
+
+    /**
+     * Stop checkpointing, detach the log from the manager and close it
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        manager.attachStateLog(null);
+        log.close();
+    }
+}
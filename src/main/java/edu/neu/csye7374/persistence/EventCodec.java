@@ -0,0 +1,128 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.event.SeminarEvent;
+import edu.neu.csye7374.event.WorkshopEvent;
+import edu.neu.csye7374.factory.AbstractEventFactory;
+import edu.neu.csye7374.factory.LectureEventFactory;
+import edu.neu.csye7374.factory.SeminarEventFactory;
+import edu.neu.csye7374.factory.WorkshopEventFactory;
+import edu.neu.csye7374.user.Organizer;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Binary encoding of events and users shared by the persistence formats.
+ * Events are stored as their type plus the EventAPI fields and rebuilt
+ * through the matching {@link AbstractEventFactory}. Decorated events are
+ * stored by their underlying type with the decorated description, so they
+ * come back as plain events with the same text.
+ */
+final class EventCodec {
+
+    static final byte LECTURE = 'L';
+    static final byte SEMINAR = 'S';
+    static final byte WORKSHOP = 'W';
+
+    static final byte STUDENT = 'S';
+    static final byte ORGANIZER = 'O';
+
+    // Epoch day written for events without a date
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final AbstractEventFactory LECTURES = new LectureEventFactory();
+    private static final AbstractEventFactory SEMINARS = new SeminarEventFactory();
+    private static final AbstractEventFactory WORKSHOPS = new WorkshopEventFactory();
+
+    private EventCodec() {
+    }
+
+    static void writeEvent(RecordBuffer out, EventAPI event) {
+        out.putByte(typeOf(event));
+        out.putString(event.getId());
+        out.putString(event.getTitle());
+        out.putString(event.getDescription());
+        out.putLong(event.getDate() != null ? event.getDate().toEpochDay() : NO_DATE);
+        out.putString(event.getLocation());
+        out.putInt(event.getCapacity());
+    }
+
+    static EventAPI readEvent(ByteBuffer in) {
+        byte type = in.get();
+        String id = RecordBuffer.getString(in);
+        String title = RecordBuffer.getString(in);
+        String description = RecordBuffer.getString(in);
+        long epochDay = in.getLong();
+        String location = RecordBuffer.getString(in);
+        int capacity = in.getInt();
+        LocalDate date = epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+        return factoryFor(type).createEvent(id, title, description, date, location, capacity);
+    }
+
+    static AbstractEventFactory factoryFor(byte type) {
+        switch (type) {
+            case SEMINAR:
+                return SEMINARS;
+            case WORKSHOP:
+                return WORKSHOPS;
+            default:
+                return LECTURES;
+        }
+    }
+
+    static byte typeOf(EventAPI event) {
+        if (event instanceof LectureEvent) {
+            return LECTURE;
+        } else if (event instanceof SeminarEvent) {
+            return SEMINAR;
+        } else if (event instanceof WorkshopEvent) {
+            return WORKSHOP;
+        }
+        // Decorators pass getDetails() through to the wrapped event, which names its type
+        String details = event.getDetails();
+        if (details != null && details.startsWith("Seminar")) {
+            return SEMINAR;
+        } else if (details != null && details.startsWith("Workshop")) {
+            return WORKSHOP;
+        }
+        return LECTURE;
+    }
+
+    static void writeUser(RecordBuffer out, User user) {
+        if (user instanceof Organizer) {
+            Organizer organizer = (Organizer) user;
+            out.putByte(ORGANIZER);
+            writeUserFields(out, user);
+            out.putString(organizer.getDepartment());
+            out.putString(organizer.getRole());
+        } else {
+            out.putByte(STUDENT);
+            writeUserFields(out, user);
+            Student student = user instanceof Student ? (Student) user : null;
+            out.putString(student != null ? student.getStudentId() : null);
+            out.putString(student != null ? student.getMajor() : null);
+            out.putInt(student != null ? student.getYear() : 0);
+        }
+    }
+
+    private static void writeUserFields(RecordBuffer out, User user) {
+        out.putString(user.getId());
+        out.putString(user.getName());
+        out.putString(user.getEmail());
+    }
+
+    static User readUser(ByteBuffer in) {
+        byte type = in.get();
+        String id = RecordBuffer.getString(in);
+        String name = RecordBuffer.getString(in);
+        String email = RecordBuffer.getString(in);
+        if (type == ORGANIZER) {
+            return new Organizer(id, name, email, RecordBuffer.getString(in), RecordBuffer.getString(in));
+        }
+        return new Student(id, name, email, RecordBuffer.getString(in), RecordBuffer.getString(in), in.getInt());
+    }
+}
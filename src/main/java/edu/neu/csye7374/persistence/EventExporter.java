@@ -0,0 +1,18 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes a sequence of events to a file in one particular format.
+ */
+public interface EventExporter {
+
+    /**
+     * Stream the events to a file, replacing it if it exists
+     * @return number of events written
+     */
+    long export(Iterable<? extends EventAPI> events, Path file) throws IOException;
+}
@@ -0,0 +1,114 @@
+package edu.neu.csye7374.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file mapped into memory in fixed 1MB chunks and addressed by a long
+ * byte position. Growing maps more chunks without remapping the old ones,
+ * so readers never wait on a writer. Mapping a chunk extends the file to
+ * cover it, so chunks are kept small to bound that slack per column. Fixed-width values are aligned and
+ * never straddle a chunk; byte runs may, and are copied piecewise.
+ * Readers use absolute gets only, so they can share the mapping freely.
+ */
+final class MappedColumn implements Closeable {
+
+    private static final int CHUNK_BITS = 20;
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer[] chunks;
+
+    MappedColumn(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunks = new MappedByteBuffer[0];
+        ensureCapacity(channel.size());
+    }
+
+    /**
+     * Make positions below capacity addressable, mapping new chunks as needed
+     */
+    synchronized void ensureCapacity(long capacity) throws IOException {
+        int needed = (int) ((capacity + CHUNK_MASK) >>> CHUNK_BITS);
+        MappedByteBuffer[] current = chunks;
+        if (needed <= current.length) {
+            return;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(current, needed);
+        for (int i = current.length; i < needed; i++) {
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * CHUNK_SIZE, CHUNK_SIZE);
+        }
+        chunks = grown;
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)];
+    }
+
+    byte get(long position) {
+        return chunk(position).get((int) (position & CHUNK_MASK));
+    }
+
+    void put(long position, byte value) {
+        chunk(position).put((int) (position & CHUNK_MASK), value);
+    }
+
+    int getInt(long position) {
+        return chunk(position).getInt((int) (position & CHUNK_MASK));
+    }
+
+    void putInt(long position, int value) {
+        chunk(position).putInt((int) (position & CHUNK_MASK), value);
+    }
+
+    long getLong(long position) {
+        return chunk(position).getLong((int) (position & CHUNK_MASK));
+    }
+
+    void putLong(long position, long value) {
+        chunk(position).putLong((int) (position & CHUNK_MASK), value);
+    }
+
+    void getBytes(long position, byte[] dst, int length) {
+        int done = 0;
+        while (done < length) {
+            ByteBuffer view = chunk(position + done).duplicate();
+            int offset = (int) ((position + done) & CHUNK_MASK);
+            int n = (int) Math.min(length - done, CHUNK_SIZE - offset);
+            view.position(offset);
+            view.get(dst, done, n);
+            done += n;
+        }
+    }
+
+    void putBytes(long position, byte[] src, int length) {
+        int done = 0;
+        while (done < length) {
+            ByteBuffer view = chunk(position + done).duplicate();
+            int offset = (int) ((position + done) & CHUNK_MASK);
+            int n = (int) Math.min(length - done, CHUNK_SIZE - offset);
+            view.position(offset);
+            view.put(src, done, n);
+            done += n;
+        }
+    }
+
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,446 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * File-backed outbox of notifications that still have to be sent. An entry
+ * names the recipient, the event and a template; the message itself is
+ * rendered when it is delivered.
+ *
+ * A caller records its intent here before making the state change the
+ * notification is about; {@link #enqueue} returns only once the intent is on
+ * disk, so a crash can never lose a confirmation for a change that happened.
+ * The new entry is held back until the caller {@link #release}s it after
+ * the change; a relay then delivers pending entries whose change is still
+ * in effect and marks them delivered, or dropped if it is not.
+ *
+ * Entries are keyed by (user, event, template). Each user/event pair
+ * remembers the template of its latest accepted entry, and enqueueing that
+ * same template again is refused as a duplicate until a different template
+ * (e.g. a cancellation) is accepted for the pair or the entry is dropped.
+ * So a retried request yields one confirmation, while register, cancel,
+ * register again yields three. Pairs with a pending entry are always
+ * remembered; resolved ones only for the most recently used pairs, up to a
+ * fixed window, so the memory and the compacted file stay bounded.
+ *
+ * Layout: one append-only file of [int length][byte type][payload][int crc32]
+ * records; opening it replays the records and truncates a torn tail. Syncs
+ * are shared: a writer that finds a sync in progress waits for it and then
+ * usually finds its own record already covered. Once enough entries have
+ * been resolved, the file is rewritten with just the live state.
+ */
+public class NotificationOutbox implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(NotificationOutbox.class);
+
+    private static final byte ENQUEUED = 1;
+    private static final byte DELIVERED = 2;
+    private static final byte DROPPED = 3;
+    // Remembered key of a resolved entry, written by compaction
+    private static final byte KEY = 4;
+
+    private static final int MAX_RECORD = 1 << 20;
+    private static final int COMPACT_AFTER = 10_000;
+
+    public static final int DEFAULT_REMEMBERED_PAIRS = 100_000;
+
+    private final Path file;
+    private final RecordBuffer record;
+    private final CRC32 crc;
+    private final Object syncLock;
+    private final int rememberedPairs;
+    private FileChannel channel;
+
+    // Guarded by this
+    private final Map<Long, Entry> pending;
+    private final Map<String, Key> latest;
+    private long nextSeq;
+    private volatile long written;
+    private int resolvedSinceCompaction;
+    private boolean closed;
+
+    private volatile long synced;
+
+    /**
+     * One notification waiting to be delivered
+     */
+    public static final class Entry {
+        private final long seq;
+        private final String userId;
+        private final String eventId;
+        private final String template;
+        // Set until the caller has made its state change; see release()
+        private volatile boolean held;
+
+        Entry(long seq, String userId, String eventId, String template) {
+            this.seq = seq;
+            this.userId = userId;
+            this.eventId = eventId;
+            this.template = template;
+        }
+
+        public long getSeq() { return seq; }
+        public String getUserId() { return userId; }
+        public String getEventId() { return eventId; }
+        public String getTemplate() { return template; }
+        public boolean isHeld() { return held; }
+
+        @Override
+        public String toString() {
+            return "Entry{" + seq + ", " + template + ", user=" + userId + ", event=" + eventId + '}';
+        }
+    }
+
+    /**
+     * Latest accepted template of a user/event pair
+     */
+    private static final class Key {
+        final String template;
+        final long seq;
+
+        Key(String template, long seq) {
+            this.template = template;
+            this.seq = seq;
+        }
+    }
+
+    private NotificationOutbox(Path file, int rememberedPairs) {
+        this.file = file;
+        this.record = new RecordBuffer(256);
+        this.crc = new CRC32();
+        this.syncLock = new Object();
+        this.rememberedPairs = rememberedPairs;
+        this.pending = new LinkedHashMap<>();
+        // Least recently used pair first
+        this.latest = new LinkedHashMap<>();
+        this.nextSeq = 1;
+    }
+
+    /**
+     * Open the outbox file, creating it if needed, and reload its pending entries
+     */
+    public static NotificationOutbox open(Path file) throws IOException {
+        return open(file, DEFAULT_REMEMBERED_PAIRS);
+    }
+
+    /**
+     * @param rememberedPairs resolved user/event pairs kept for duplicate detection
+     */
+    public static NotificationOutbox open(Path file, int rememberedPairs) throws IOException {
+        if (rememberedPairs < 1) {
+            throw new IllegalArgumentException("Remembered pairs must be positive");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        NotificationOutbox outbox = new NotificationOutbox(file, rememberedPairs);
+        outbox.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        outbox.load();
+        return outbox;
+    }
+
+    /**
+     * Durably record a notification to send, held until {@link #release}d
+     * @param userId recipient, or null for a notification about the event as a whole
+     * @return the entry's sequence number, or -1 if the same key is already
+     *         the latest one for this user and event
+     */
+    public long enqueue(String userId, String eventId, String template) throws IOException {
+        long end;
+        long seq;
+        synchronized (this) {
+            ensureOpen();
+            String pair = pairOf(userId, eventId);
+            Key last = latest.get(pair);
+            if (last != null && last.template.equals(template)) {
+                return -1;
+            }
+            seq = nextSeq++;
+            begin(ENQUEUED);
+            record.putLong(seq);
+            record.putString(userId);
+            record.putString(eventId);
+            record.putString(template);
+            end = append();
+            Entry entry = new Entry(seq, userId, eventId, template);
+            entry.held = true;
+            pending.put(seq, entry);
+            remember(pair, new Key(template, seq));
+        }
+        sync(end);
+        return seq;
+    }
+
+    /**
+     * Let the relay deliver an entry. Call once the state change it announces
+     * has been applied (or has failed); entries reloaded from disk are never held.
+     */
+    public synchronized void release(long seq) {
+        Entry entry = pending.get(seq);
+        if (entry != null) {
+            entry.held = false;
+        }
+    }
+
+    /**
+     * Record that an entry was sent
+     */
+    public void markDelivered(long seq) throws IOException {
+        resolve(seq, DELIVERED);
+    }
+
+    /**
+     * Record that an entry will never be sent, e.g. because the state change
+     * it announced did not happen; its key can then be enqueued again
+     */
+    public void markDropped(long seq) throws IOException {
+        resolve(seq, DROPPED);
+    }
+
+    /**
+     * @return pending entries, oldest first
+     */
+    public synchronized List<Entry> pending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (syncLock) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void resolve(long seq, byte type) throws IOException {
+        long end;
+        synchronized (this) {
+            ensureOpen();
+            Entry entry = pending.remove(seq);
+            if (entry == null) {
+                return;
+            }
+            if (type == DROPPED) {
+                forget(entry);
+            }
+            begin(type);
+            record.putLong(seq);
+            end = append();
+            if (++resolvedSinceCompaction >= COMPACT_AFTER && resolvedSinceCompaction > 2 * pending.size()) {
+                compact();
+                end = written;
+            }
+        }
+        sync(end);
+    }
+
+    private void forget(Entry entry) {
+        String pair = pairOf(entry.userId, entry.eventId);
+        Key last = latest.get(pair);
+        if (last != null && last.seq == entry.seq) {
+            latest.remove(pair);
+        }
+    }
+
+    /**
+     * Make the pair the most recently used one, then forget the least recently
+     * used resolved pairs beyond the window; pairs with a pending entry stay
+     */
+    private void remember(String pair, Key key) {
+        latest.remove(pair);
+        latest.put(pair, key);
+        Iterator<Key> oldest = latest.values().iterator();
+        while (latest.size() > rememberedPairs && oldest.hasNext()) {
+            if (!pending.containsKey(oldest.next().seq)) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private static String pairOf(String userId, String eventId) {
+        return (userId != null ? userId : "") + '|' + eventId;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Notification outbox is closed: " + file);
+        }
+    }
+
+    // ==================== WRITING ====================
+
+    private void begin(byte type) {
+        record.clear();
+        record.putInt(0);
+        record.putByte(type);
+    }
+
+    /**
+     * Frame the record in the scratch buffer and write it at the end of the file
+     * @return file offset just past the record
+     */
+    private long append() throws IOException {
+        record.putIntAt(0, record.size() - 4);
+        record.putInt(record.checksum(crc, 4));
+        channel.position(written);
+        record.writeTo(channel);
+        written += record.size();
+        return written;
+    }
+
+    /**
+     * Make everything up to the given offset durable. Whoever holds the sync
+     * lock forces all bytes written so far, covering the writers queued behind it.
+     */
+    private void sync(long end) throws IOException {
+        if (synced >= end) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            long target = written;
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    /**
+     * Rewrite the file with only the remembered keys and the pending entries
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long size;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Key> key : latest.entrySet()) {
+                if (pending.containsKey(key.getValue().seq)) {
+                    continue;
+                }
+                begin(KEY);
+                record.putLong(key.getValue().seq);
+                record.putString(key.getKey());
+                record.putString(key.getValue().template);
+                frame();
+                record.writeTo(out);
+            }
+            for (Entry entry : pending.values()) {
+                begin(ENQUEUED);
+                record.putLong(entry.seq);
+                record.putString(entry.userId);
+                record.putString(entry.eventId);
+                record.putString(entry.template);
+                frame();
+                record.writeTo(out);
+            }
+            out.force(true);
+            size = out.size();
+        }
+        synchronized (syncLock) {
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            written = size;
+            synced = size;
+        }
+        resolvedSinceCompaction = 0;
+    }
+
+    private void frame() {
+        record.putIntAt(0, record.size() - 4);
+        record.putInt(record.checksum(crc, 4));
+    }
+
+    // ==================== LOADING ====================
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Notification outbox too large to load: " + file);
+        }
+        ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int valid = 0;
+        while (in.remaining() >= 4) {
+            int start = in.position();
+            int length = in.getInt();
+            if (length <= 0 || length > MAX_RECORD || in.remaining() < length + 4) {
+                break;
+            }
+            ByteBuffer body = in.slice();
+            body.limit(length);
+            crc.reset();
+            crc.update(body.duplicate());
+            in.position(start + 4 + length);
+            if ((int) crc.getValue() != in.getInt()) {
+                break;
+            }
+            apply(body);
+            valid = in.position();
+        }
+        if (valid < size) {
+            LOG.warn("Truncating {} torn bytes from notification outbox {}", size - valid, file);
+            channel.truncate(valid);
+        }
+        written = valid;
+        synced = valid;
+    }
+
+    private void apply(ByteBuffer body) throws IOException {
+        byte type = body.get();
+        long seq = body.getLong();
+        nextSeq = Math.max(nextSeq, seq + 1);
+        switch (type) {
+            case ENQUEUED:
+                Entry entry = new Entry(seq, RecordBuffer.getString(body), RecordBuffer.getString(body),
+                        RecordBuffer.getString(body));
+                pending.put(seq, entry);
+                remember(pairOf(entry.userId, entry.eventId), new Key(entry.template, seq));
+                break;
+            case DELIVERED:
+                pending.remove(seq);
+                break;
+            case DROPPED:
+                Entry dropped = pending.remove(seq);
+                if (dropped != null) {
+                    forget(dropped);
+                }
+                break;
+            case KEY:
+                remember(RecordBuffer.getString(body), new Key(RecordBuffer.getString(body), seq));
+                break;
+            default:
+                throw new IOException("Unknown outbox record type " + type + " in " + file);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package edu.neu.csye7374.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Growable byte buffer that binary records are encoded into before they hit
+ * a file. Reused across records, so steady-state encoding allocates nothing
+ * beyond the UTF-8 bytes of each string.
+ * Integers are big-endian; lengths and small counts are unsigned varints.
+ */
+final class RecordBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    RecordBuffer(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void putByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void putInt(int value) {
+        ensure(4);
+        putIntAt(size, value);
+        size += 4;
+    }
+
+    void putIntAt(int position, int value) {
+        bytes[position] = (byte) (value >>> 24);
+        bytes[position + 1] = (byte) (value >>> 16);
+        bytes[position + 2] = (byte) (value >>> 8);
+        bytes[position + 3] = (byte) value;
+    }
+
+    void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    void putVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Length-prefixed UTF-8; the prefix is length + 1 so null survives as 0
+     */
+    void putString(String value) {
+        if (value == null) {
+            putVarInt(0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(utf8.length + 1);
+        ensure(utf8.length);
+        System.arraycopy(utf8, 0, bytes, size, utf8.length);
+        size += utf8.length;
+    }
+
+    void putBytes(RecordBuffer other) {
+        ensure(other.size);
+        System.arraycopy(other.bytes, 0, bytes, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * CRC32 of the bytes in [from, size)
+     */
+    int checksum(CRC32 crc, int from) {
+        crc.reset();
+        crc.update(bytes, from, size - from);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Feed the whole buffer into a running checksum
+     */
+    void update(CRC32 crc) {
+        crc.update(bytes, 0, size);
+    }
+
+    /**
+     * Copy the whole buffer into a mapped column at the given position
+     */
+    void copyTo(MappedColumn column, long position) {
+        column.putBytes(position, bytes, size);
+    }
+
+    /**
+     * Write the whole buffer at the channel's current position
+     */
+    void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer view = ByteBuffer.wrap(bytes, 0, size);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+
+    // ==================== READING ====================
+
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = getVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8, 0, length);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
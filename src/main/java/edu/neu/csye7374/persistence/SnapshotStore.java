@@ -0,0 +1,323 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.EventStateVisitor;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshots of the whole {@link EventManager} state, each
+ * tagged with the write-ahead log LSN it covers.
+ *
+ * Layout: a fixed header [magic][version][lsn][user count][event count][body crc32]
+ * [event ID table offset], then every user (students with their registered
+ * events), then every event with its registrations and waitlist, then a table
+ * of the event IDs students refer to. Registrations refer to users by their
+ * position in the snapshot and students refer to events by their position in
+ * the ID table, both as varints, so the bulk of a snapshot is small integers
+ * rather than repeated ID strings, and each ID is decoded once on load.
+ *
+ * Writing streams {@link EventManager#captureState(EventStateVisitor)} into a
+ * temp file while writers keep running, then renames it into place. Loading
+ * maps the newest snapshot read-only and restores rosters in bulk; replaying
+ * the log from the snapshot's LSN afterwards brings it fully up to date.
+ */
+public class SnapshotStore {
+
+    private static final Logger LOG = LogManager.getLogger(SnapshotStore.class);
+
+    private static final int MAGIC = 0x43455353; // "CESS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final String SUFFIX = ".snap";
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Capture the manager's state into a new snapshot file
+     * @return the LSN the snapshot covers
+     */
+    public long write(EventManager manager) throws IOException {
+        Path temp = directory.resolve("snapshot.tmp");
+        long lsn;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            Writer writer = new Writer(channel);
+            try {
+                lsn = manager.captureState(writer);
+                writer.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            RecordBuffer header = new RecordBuffer(HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(lsn);
+            header.putInt(writer.userCount);
+            header.putInt(writer.eventCount);
+            header.putInt((int) writer.crc.getValue());
+            header.putInt(writer.idTableOffset);
+            channel.position(0);
+            header.writeTo(channel);
+            channel.force(true);
+        }
+        Files.move(temp, snapshotPath(lsn), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return lsn;
+    }
+
+    /**
+     * Load the newest readable snapshot into the manager. A snapshot that
+     * fails its checksum is skipped in favour of the one before it.
+     * @return the LSN the loaded snapshot covers, or 0 if there is none
+     */
+    public long loadLatest(EventManager manager) throws IOException {
+        List<Long> available = list();
+        Collections.reverse(available);
+        for (long lsn : available) {
+            Path file = snapshotPath(lsn);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Snapshot too large to map: " + file);
+                }
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (load(map, manager)) {
+                    return lsn;
+                }
+            }
+            LOG.warn("Skipping unreadable snapshot: {}", file);
+        }
+        return 0;
+    }
+
+    /**
+     * @return LSNs of the snapshots on disk, oldest first
+     */
+    public List<Long> list() throws IOException {
+        List<Long> lsns = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                lsns.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(lsns);
+        return lsns;
+    }
+
+    /**
+     * Delete all but the newest snapshots
+     * @return LSN of the oldest snapshot kept, which the log must still reach back to
+     */
+    public long prune(int keep) throws IOException {
+        List<Long> lsns = list();
+        int drop = Math.max(lsns.size() - Math.max(keep, 1), 0);
+        for (int i = 0; i < drop; i++) {
+            Files.deleteIfExists(snapshotPath(lsns.get(i)));
+        }
+        return lsns.isEmpty() ? 0 : lsns.get(drop);
+    }
+
+    private Path snapshotPath(long lsn) {
+        return directory.resolve(String.format("%020d%s", lsn, SUFFIX));
+    }
+
+    // ==================== LOADING ====================
+
+    private static boolean load(ByteBuffer in, EventManager manager) {
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            return false;
+        }
+        in.getLong();
+        int userCount = in.getInt();
+        int eventCount = in.getInt();
+        int expectedCrc = in.getInt();
+        int idTableOffset = in.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            return false;
+        }
+
+        ByteBuffer table = in.duplicate();
+        table.position(idTableOffset);
+        String[] eventIds = new String[RecordBuffer.getVarInt(table)];
+        for (int i = 0; i < eventIds.length; i++) {
+            eventIds[i] = RecordBuffer.getString(table);
+        }
+
+        int[] userOrdinals = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            User user = EventCodec.readUser(in);
+            userOrdinals[i] = manager.restoreUser(user);
+            int registered = RecordBuffer.getVarInt(in);
+            for (int r = 0; r < registered; r++) {
+                String eventId = eventIds[RecordBuffer.getVarInt(in)];
+                if (user instanceof Student) {
+                    ((Student) user).restoreEventRegistration(eventId);
+                }
+            }
+        }
+        for (int i = 0; i < eventCount; i++) {
+            EventAPI event = EventCodec.readEvent(in);
+            int[] registered = readUserRefs(in, userOrdinals);
+            int[] waitlisted = readUserRefs(in, userOrdinals);
+            manager.restoreEvent(event);
+            manager.restoreRoster(event.getId(), registered, waitlisted);
+        }
+        return true;
+    }
+
+    private static int[] readUserRefs(ByteBuffer in, int[] userOrdinals) {
+        int[] refs = new int[RecordBuffer.getVarInt(in)];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = userOrdinals[RecordBuffer.getVarInt(in)];
+        }
+        return refs;
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Streams the captured state into the file in 1MB chunks, checksumming as it goes
+     */
+    private static final class Writer implements EventStateVisitor {
+
+        private final FileChannel channel;
+        private final RecordBuffer buffer;
+        private final CRC32 crc;
+        // Live user ordinal -> position in the snapshot
+        private int[] positions;
+        // Event ID -> position in the ID table, in first-seen order
+        private final Map<String, Integer> eventIds;
+        private int userCount;
+        private int eventCount;
+        private long written;
+        private int idTableOffset;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = new RecordBuffer(FLUSH_BYTES + 4096);
+            this.crc = new CRC32();
+            this.positions = new int[1024];
+            Arrays.fill(positions, -1);
+            this.eventIds = new LinkedHashMap<>();
+        }
+
+        @Override
+        public void visitUser(int userOrdinal, User user) {
+            EventCodec.writeUser(buffer, user);
+            List<String> registered = user instanceof Student
+                    ? ((Student) user).getRegisteredEvents()
+                    : Collections.emptyList();
+            buffer.putVarInt(registered.size());
+            for (String eventId : registered) {
+                Integer id = eventIds.get(eventId);
+                if (id == null) {
+                    id = eventIds.size();
+                    eventIds.put(eventId, id);
+                }
+                buffer.putVarInt(id);
+            }
+            if (userOrdinal >= positions.length) {
+                int oldLength = positions.length;
+                positions = Arrays.copyOf(positions, Math.max(oldLength * 2, userOrdinal + 1));
+                Arrays.fill(positions, oldLength, positions.length, -1);
+            }
+            positions[userOrdinal] = userCount++;
+            maybeFlush();
+        }
+
+        @Override
+        public void visitEvent(EventAPI event, int[] registeredUserOrdinals, int[] waitlistedUserOrdinals) {
+            EventCodec.writeEvent(buffer, event);
+            writeUserRefs(registeredUserOrdinals);
+            writeUserRefs(waitlistedUserOrdinals);
+            eventCount++;
+            maybeFlush();
+        }
+
+        private void writeUserRefs(int[] userOrdinals) {
+            // Users registered after the user walk have no position; log replay adds them back
+            int known = 0;
+            for (int userOrdinal : userOrdinals) {
+                if (positionOf(userOrdinal) >= 0) {
+                    known++;
+                }
+            }
+            buffer.putVarInt(known);
+            for (int userOrdinal : userOrdinals) {
+                int position = positionOf(userOrdinal);
+                if (position >= 0) {
+                    buffer.putVarInt(position);
+                }
+            }
+        }
+
+        private int positionOf(int userOrdinal) {
+            return userOrdinal < positions.length ? positions[userOrdinal] : -1;
+        }
+
+        private void maybeFlush() {
+            if (buffer.size() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        /**
+         * Append the event ID table after the captured state
+         */
+        void finish() throws IOException {
+            flush();
+            if (HEADER_BYTES + written > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + (HEADER_BYTES + written) + " bytes");
+            }
+            idTableOffset = (int) (HEADER_BYTES + written);
+            buffer.putVarInt(eventIds.size());
+            for (String eventId : eventIds.keySet()) {
+                buffer.putString(eventId);
+                maybeFlush();
+            }
+            flush();
+        }
+
+        void flush() {
+            try {
+                buffer.update(crc);
+                buffer.writeTo(channel);
+                written += buffer.size();
+                buffer.clear();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
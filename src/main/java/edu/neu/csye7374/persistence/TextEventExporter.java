@@ -0,0 +1,34 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The original human-readable dump: one "=== FILE OUTPUT ===" block per
+ * event with its title, getDetails() text and a timestamp, as in the
+ * batch_events.txt / system_events.txt files. Write-only; use
+ * {@link BinaryEventExporter} for anything that needs to be read back.
+ */
+public class TextEventExporter implements EventExporter {
+
+    @Override
+    public long export(Iterable<? extends EventAPI> events, Path file) throws IOException {
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (EventAPI event : events) {
+                out.write("=== FILE OUTPUT ===\n");
+                out.write("Event: " + event.getTitle() + "\n");
+                out.write("Details: " + event.getDetails() + "\n");
+                out.write("Timestamp: " + System.currentTimeMillis() + "\n");
+                out.write("==================\n\n");
+                written++;
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,297 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.factory.AbstractEventFactory;
+import edu.neu.csye7374.manager.EventManagerAPI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the "=== FILE OUTPUT ===" text dumps written by
+ * {@link TextEventExporter} (batch_events.txt and friends).
+ *
+ * The file is memory-mapped in large windows and scanned byte by byte: line
+ * kinds are recognised by comparing their prefix bytes in place, dates and
+ * capacities are parsed straight from the digits, and the only strings
+ * created are the field values an event actually keeps. A block split by a
+ * window boundary is re-read from its start in the next window. Events are
+ * built through the same {@link AbstractEventFactory} implementations as
+ * everywhere else, picked by the type word of the "Details:" line.
+ * An importer holds parse state, so use one per thread.
+ */
+public class TextEventImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final long DEFAULT_WINDOW = 256L << 20;
+
+    private static final byte[] BLOCK_START = bytes("=== FILE OUTPUT ===");
+    private static final byte[] BLOCK_END = bytes("==================");
+    private static final byte[] DETAILS = bytes("Details: ");
+    private static final byte[] EVENT_ID = bytes(" Event ID: ");
+    private static final byte[] TITLE = bytes("Title: ");
+    private static final byte[] DESCRIPTION = bytes("Description: ");
+    private static final byte[] DATE = bytes("Date: ");
+    private static final byte[] LOCATION = bytes("Location: ");
+    private static final byte[] CAPACITY = bytes("Capacity: ");
+    private static final byte[] SEMINAR = bytes("Seminar");
+    private static final byte[] WORKSHOP = bytes("Workshop");
+
+    private final Path file;
+    private final long window;
+    // Reused to turn a field's bytes into a String
+    private byte[] scratch;
+
+    // Fields of the block being parsed
+    private boolean inBlock;
+    private byte type;
+    private String id;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private String location;
+    private int capacity;
+
+    public TextEventImporter(Path file) {
+        this(file, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window bytes mapped at a time; must hold the largest block
+     */
+    TextEventImporter(Path file, long window) {
+        this.file = file;
+        this.window = window;
+        this.scratch = new byte[256];
+    }
+
+    /**
+     * Parse every complete block in file order
+     * @return number of events parsed
+     */
+    public long forEach(Consumer<? super EventAPI> action) throws IOException {
+        long parsed = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long base = 0;
+            while (base < size) {
+                long span = Math.min(size - base, window);
+                boolean last = base + span == size;
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, base, span);
+                long[] counted = new long[1];
+                int consumed = parseWindow(mapped, last, event -> {
+                    counted[0]++;
+                    action.accept(event);
+                });
+                parsed += counted[0];
+                if (last) {
+                    break;
+                }
+                if (consumed == 0) {
+                    throw new IOException("Block larger than " + window + " bytes at offset " + base + " in " + file);
+                }
+                base += consumed;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parse the file and add its events to the manager in batches
+     * @return number of events added
+     */
+    public long importInto(EventManagerAPI manager, int batchSize) throws IOException {
+        List<EventAPI> batch = new ArrayList<>(batchSize);
+        long[] added = new long[1];
+        forEach(event -> {
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                added[0] += manager.addAllEvents(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            added[0] += manager.addAllEvents(batch);
+        }
+        return added[0];
+    }
+
+    /**
+     * @return bytes up to which every block was parsed; where the next window starts
+     */
+    private int parseWindow(ByteBuffer in, boolean last, Consumer<EventAPI> emit) {
+        int limit = in.limit();
+        int consumed = 0;
+        int blockStart = 0;
+        inBlock = false;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = indexOf(in, (byte) '\n', lineStart, limit);
+            if (lineEnd < 0) {
+                if (!last) {
+                    break;
+                }
+                lineEnd = limit;
+            }
+            int next = lineEnd + 1;
+            int end = lineEnd > lineStart && in.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (equals(in, lineStart, end, BLOCK_START)) {
+                startBlock();
+                blockStart = lineStart;
+            } else if (inBlock && equals(in, lineStart, end, BLOCK_END)) {
+                inBlock = false;
+                if (id != null) {
+                    emit.accept(EventCodec.factoryFor(type).createEvent(id, title, description, date, location, capacity));
+                }
+            } else if (inBlock) {
+                parseField(in, lineStart, end);
+            }
+            lineStart = next;
+            if (!inBlock) {
+                consumed = Math.min(next, limit);
+            }
+        }
+        // An unfinished block is picked up again by the next window
+        return inBlock ? blockStart : consumed;
+    }
+
+    private void startBlock() {
+        inBlock = true;
+        type = EventCodec.LECTURE;
+        id = null;
+        title = null;
+        description = null;
+        date = null;
+        location = null;
+        capacity = 0;
+    }
+
+    private void parseField(ByteBuffer in, int start, int end) {
+        if (startsWith(in, start, end, DETAILS)) {
+            // "Details: <Type> Event ID: <id>"
+            int typeStart = start + DETAILS.length;
+            int marker = find(in, typeStart, end, EVENT_ID);
+            if (marker >= 0) {
+                if (startsWith(in, typeStart, marker, SEMINAR)) {
+                    type = EventCodec.SEMINAR;
+                } else if (startsWith(in, typeStart, marker, WORKSHOP)) {
+                    type = EventCodec.WORKSHOP;
+                }
+                id = string(in, marker + EVENT_ID.length, end);
+            }
+        } else if (startsWith(in, start, end, TITLE)) {
+            title = string(in, start + TITLE.length, end);
+        } else if (startsWith(in, start, end, DESCRIPTION)) {
+            description = string(in, start + DESCRIPTION.length, end);
+        } else if (startsWith(in, start, end, DATE)) {
+            date = parseDate(in, start + DATE.length, end);
+        } else if (startsWith(in, start, end, LOCATION)) {
+            location = string(in, start + LOCATION.length, end);
+        } else if (startsWith(in, start, end, CAPACITY)) {
+            capacity = parseInt(in, start + CAPACITY.length, end);
+        }
+    }
+
+    // ==================== BYTE HELPERS ====================
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(ByteBuffer in, byte value, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (in.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer in, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (in.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(ByteBuffer in, int start, int end, byte[] text) {
+        return end - start == text.length && startsWith(in, start, end, text);
+    }
+
+    private static int find(ByteBuffer in, int start, int end, byte[] text) {
+        for (int i = start; i + text.length <= end; i++) {
+            if (startsWith(in, i, end, text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String string(ByteBuffer in, int start, int end) {
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = in.get(start + i);
+        }
+        String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        // getDetails() prints a missing field as "null"
+        return "null".equals(value) ? null : value;
+    }
+
+    /**
+     * Parse "yyyy-mm-dd" from the digits in place; anything else reads as no date
+     */
+    private static LocalDate parseDate(ByteBuffer in, int start, int end) {
+        if (end - start != 10 || in.get(start + 4) != '-' || in.get(start + 7) != '-') {
+            return null;
+        }
+        int year = parseInt(in, start, start + 4);
+        int month = parseInt(in, start + 5, start + 7);
+        int day = parseInt(in, start + 8, end);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the value of an optionally negative run of digits, or -1 if there are none
+     */
+    private static int parseInt(ByteBuffer in, int start, int end) {
+        boolean negative = start < end && in.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i >= end) {
+            return -1;
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            byte b = in.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,514 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.EventStateLog;
+import edu.neu.csye7374.user.User;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary write-ahead log of {@link EventManager} state changes.
+ *
+ * Record layout: [int length][byte type][payload][int crc32], where length
+ * and the CRC both cover type + payload. LSNs are byte offsets in one logical
+ * log; a record's LSN is the offset just past it. The log is stored in a
+ * directory as segment files named after the LSN they start at, so segments
+ * already covered by a snapshot can be deleted ({@link #compact(long)}).
+ *
+ * Appends encode into a per-thread scratch buffer and then copy it into the
+ * shared pending buffer under a short lock; no I/O happens on the caller's
+ * thread. A single flusher thread swaps the pending buffer out, writes it and
+ * forces it to disk. Everything appended while one force is running goes out
+ * with the next one (group commit), so an fsync is shared by all concurrent
+ * writers. With syncCommit, {@link #awaitDurable(long)} blocks until the
+ * record's batch is on disk; without it, changes become durable within one
+ * flush cycle and callers never wait.
+ *
+ * Replay maps the segments read-only, applies each intact record through the
+ * EventManager restore methods, and truncates a torn tail left by a crash.
+ * A write failure is sticky: the log refuses further appends, and every
+ * {@link #awaitDurable(long)} for a record not yet on disk, waiting or yet
+ * to come, fails with the cause, in either commit mode.
+ */
+public class WriteAheadLog implements EventStateLog, Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(WriteAheadLog.class);
+
+    private static final byte EVENT_ADDED = 1;
+    private static final byte EVENT_REMOVED = 2;
+    private static final byte USER_REGISTERED = 3;
+    private static final byte REGISTRATION_CHANGED = 4;
+
+    private static final RegistrationChange[] CHANGES = RegistrationChange.values();
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    // Largest record accepted on append; anything bigger found on replay is treated as corruption
+    private static final int MAX_RECORD = 1 << 20;
+    // Replay maps a segment in windows so oversized segments still map
+    private static final long REPLAY_WINDOW = 1L << 30;
+
+    private final Path directory;
+    private final boolean syncCommit;
+    private final long segmentBytes;
+    private final ReentrantLock lock;
+    private final Condition pendingData;
+    private final Condition flushed;
+    private final ThreadLocal<RecordBuffer> scratch;
+    private final ThreadLocal<CRC32> checksums;
+    private final Thread flusher;
+
+    // Guarded by lock
+    private RecordBuffer pending;
+    private long appendedLsn;
+    private boolean closed;
+    // Start LSN -> segment file, oldest first; the last one is being appended to
+    private final NavigableMap<Long, Path> segments;
+    private FileChannel active;
+    private long activeStart;
+
+    // Only touched by the flusher thread
+    private RecordBuffer flushing;
+
+    private volatile long durableLsn;
+    // Set once by the flusher; written under lock, read without it on the fast path
+    private volatile IOException failure;
+    private long recordsReplayed;
+
+    public WriteAheadLog(Path directory, boolean syncCommit) throws IOException {
+        this(directory, syncCommit, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Open (or create) a log directory. Call {@link #replay(EventManager, long)}
+     * before attaching it, so appends go after the existing records.
+     * @param directory where the segment files live
+     * @param syncCommit true to make callers wait until their change is on disk
+     * @param segmentBytes size after which the flusher starts a new segment
+     */
+    public WriteAheadLog(Path directory, boolean syncCommit, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.syncCommit = syncCommit;
+        this.segmentBytes = segmentBytes;
+        this.segments = new TreeMap<>();
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, segmentPath(0));
+        }
+        this.activeStart = segments.lastKey();
+        this.active = openSegment(segments.lastEntry().getValue());
+        this.lock = new ReentrantLock();
+        this.pendingData = lock.newCondition();
+        this.flushed = lock.newCondition();
+        this.scratch = ThreadLocal.withInitial(() -> new RecordBuffer(256));
+        this.checksums = ThreadLocal.withInitial(CRC32::new);
+        this.pending = new RecordBuffer(64 * 1024);
+        this.flushing = new RecordBuffer(64 * 1024);
+        this.appendedLsn = activeStart + active.size();
+        this.durableLsn = appendedLsn;
+        active.position(active.size());
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    private Path segmentPath(long startLsn) {
+        return directory.resolve(String.format("%020d%s", startLsn, SEGMENT_SUFFIX));
+    }
+
+    private static FileChannel openSegment(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // ==================== APPENDING ====================
+
+    @Override
+    public long eventAdded(EventAPI event) {
+        RecordBuffer record = begin(EVENT_ADDED);
+        EventCodec.writeEvent(record, event);
+        return commit(record);
+    }
+
+    @Override
+    public long eventRemoved(String eventId) {
+        RecordBuffer record = begin(EVENT_REMOVED);
+        record.putString(eventId);
+        return commit(record);
+    }
+
+    @Override
+    public long userRegistered(User user) {
+        RecordBuffer record = begin(USER_REGISTERED);
+        EventCodec.writeUser(record, user);
+        return commit(record);
+    }
+
+    @Override
+    public long registrationChanged(RegistrationChange change, String userId, String eventId) {
+        RecordBuffer record = begin(REGISTRATION_CHANGED);
+        record.putByte(change.ordinal());
+        record.putString(userId);
+        record.putString(eventId);
+        return commit(record);
+    }
+
+    private RecordBuffer begin(byte type) {
+        RecordBuffer record = scratch.get();
+        record.clear();
+        record.putInt(0);
+        record.putByte(type);
+        return record;
+    }
+
+    private long commit(RecordBuffer record) {
+        int length = record.size() - 4;
+        if (length > MAX_RECORD) {
+            // Replay would reject it as corrupt and drop everything after it
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds the "
+                    + MAX_RECORD + "-byte limit of the write-ahead log");
+        }
+        record.putIntAt(0, length);
+        record.putInt(record.checksum(checksums.get(), 4));
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed: " + directory, failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed: " + directory);
+            }
+            pending.putBytes(record);
+            appendedLsn += record.size();
+            pendingData.signal();
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * With syncCommit, wait for the record's batch to reach the disk; without
+     * it, return at once unless the log has already failed
+     * @throws UncheckedIOException if the log failed before the record was on disk
+     */
+    @Override
+    public void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        IOException failed = failure;
+        if (failed != null) {
+            throw new UncheckedIOException("Write-ahead log failed: " + directory, failed);
+        }
+        if (!syncCommit) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed: " + directory, failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long appendedLsn() {
+        lock.lock();
+        try {
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return offset up to which every record is on disk
+     */
+    public long getDurableLsn() {
+        return durableLsn;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Delete the segments that hold only records before the given LSN,
+     * typically the LSN covered by the oldest snapshot still kept
+     * @return number of segment files deleted
+     */
+    public int compact(long upToLsn) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            // A segment is obsolete when the next one starts at or before upToLsn
+            Map.Entry<Long, Path> first = segments.firstEntry();
+            while (first != null && first.getKey() != activeStart) {
+                Long next = segments.higherKey(first.getKey());
+                if (next == null || next > upToLsn) {
+                    break;
+                }
+                obsolete.add(segments.pollFirstEntry().getValue());
+                first = segments.firstEntry();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Path file : obsolete) {
+            Files.deleteIfExists(file);
+        }
+        return obsolete.size();
+    }
+
+    // ==================== FLUSHING ====================
+
+    private void flushLoop() {
+        while (true) {
+            RecordBuffer batch;
+            long batchEnd;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (pending.size() == 0 && !closed) {
+                    pendingData.awaitUninterruptibly();
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = flushing;
+                flushing = batch;
+                batchEnd = appendedLsn;
+                target = active;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                batch.writeTo(target);
+                target.force(false);
+                if (target.size() >= segmentBytes) {
+                    roll(batchEnd);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            batch.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableLsn = batchEnd;
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                LOG.error("Write-ahead log flush failed, refusing further changes: {}", error.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start a new segment at the given LSN, which must be a record boundary
+     * with nothing pending before it
+     */
+    private void roll(long startLsn) throws IOException {
+        Path file = segmentPath(startLsn);
+        FileChannel next = openSegment(file);
+        FileChannel previous;
+        lock.lock();
+        try {
+            previous = active;
+            active = next;
+            activeStart = startLsn;
+            segments.put(startLsn, file);
+        } finally {
+            lock.unlock();
+        }
+        previous.close();
+    }
+
+    /**
+     * Flush everything appended so far and close the current segment.
+     * Detach the log from the EventManager first.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pendingData.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        active.close();
+    }
+
+    // ==================== REPLAY ====================
+
+    public long replay(EventManager manager) throws IOException {
+        return replay(manager, 0);
+    }
+
+    /**
+     * Apply every intact record from the given LSN on, then truncate any torn
+     * tail so new appends continue from the last good record
+     * @param fromLsn first LSN to apply, normally the one a snapshot covers
+     * @return number of records applied
+     */
+    public long replay(EventManager manager, long fromLsn) throws IOException {
+        lock.lock();
+        try {
+            if (appendedLsn != activeStart + active.size()) {
+                throw new IllegalStateException("Replay must happen before anything is appended");
+            }
+            if (fromLsn < segments.firstKey()) {
+                throw new IOException("Write-ahead log starts at " + segments.firstKey()
+                        + ", after the requested offset " + fromLsn);
+            }
+            recordsReplayed = 0;
+            for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+                long start = segment.getKey();
+                boolean last = start == activeStart;
+                long end = last ? appendedLsn : segments.higherKey(start);
+                if (end <= fromLsn) {
+                    continue;
+                }
+                long position = Math.max(fromLsn - start, 0);
+                long size = end - start;
+                try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                    position = replaySegment(channel, position, size, start, manager);
+                }
+                if (position < size) {
+                    if (!last) {
+                        throw new IOException("Corrupt record in write-ahead log segment "
+                                + segment.getValue() + " at offset " + (start + position));
+                    }
+                    LOG.warn("Write-ahead log: discarding {} bytes after offset {} (incomplete or corrupt record)",
+                            size - position, start + position);
+                    active.truncate(position);
+                    active.position(position);
+                    appendedLsn = start + position;
+                }
+            }
+            if (fromLsn > appendedLsn) {
+                // The snapshot is ahead of the log; continue numbering after it
+                roll(fromLsn);
+                appendedLsn = fromLsn;
+            }
+            durableLsn = appendedLsn;
+            return recordsReplayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return offset within the segment just past the last record applied
+     */
+    private long replaySegment(FileChannel channel, long position, long size, long segmentStart,
+                               EventManager manager) throws IOException {
+        while (position < size) {
+            long span = Math.min(size - position, REPLAY_WINDOW);
+            int consumed = replayWindow(channel.map(FileChannel.MapMode.READ_ONLY, position, span),
+                    segmentStart + position, manager);
+            if (consumed == 0) {
+                break;
+            }
+            position += consumed;
+        }
+        return position;
+    }
+
+    /**
+     * @return bytes of complete, valid records applied from the start of the window
+     */
+    private int replayWindow(ByteBuffer window, long windowStart, EventManager manager) throws IOException {
+        CRC32 crc = checksums.get();
+        int consumed = 0;
+        while (window.remaining() >= 4) {
+            int start = window.position();
+            int length = window.getInt();
+            if (length <= 0 || length > MAX_RECORD || window.remaining() < length + 4) {
+                break;
+            }
+            ByteBuffer body = window.slice();
+            body.limit(length);
+            crc.reset();
+            crc.update(body.duplicate());
+            window.position(start + 4 + length);
+            if ((int) crc.getValue() != window.getInt()) {
+                break;
+            }
+            apply(body, windowStart + start, manager);
+            recordsReplayed++;
+            consumed = window.position();
+        }
+        return consumed;
+    }
+
+    private static void apply(ByteBuffer body, long offset, EventManager manager) throws IOException {
+        byte type = body.get();
+        switch (type) {
+            case EVENT_ADDED:
+                manager.restoreEvent(EventCodec.readEvent(body));
+                break;
+            case EVENT_REMOVED:
+                manager.restoreEventRemoval(RecordBuffer.getString(body));
+                break;
+            case USER_REGISTERED:
+                manager.restoreUser(EventCodec.readUser(body));
+                break;
+            case REGISTRATION_CHANGED:
+                RegistrationChange change = CHANGES[body.get()];
+                manager.restoreRegistration(change, RecordBuffer.getString(body), RecordBuffer.getString(body));
+                break;
+            default:
+                throw new IOException("Unknown record type " + type + " at offset " + offset);
+        }
+    }
+}
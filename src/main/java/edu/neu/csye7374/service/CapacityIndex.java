@@ -0,0 +1,159 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventChangeListener;
+import edu.neu.csye7374.util.IntLinkedSet;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Capacity-keyed index: capacity -> ordinals of the events with that capacity.
+ * The distinct capacities are kept in a sorted primitive int array, with the
+ * bucket for capacities[i] at buckets[i], so lookups are a binary search and
+ * nothing is boxed. Adding or removing an event touches one bucket; only a
+ * capacity seen for the first time (or whose last event leaves) shifts the
+ * arrays, and there are far fewer distinct capacities than events, so bulk
+ * loads stay linear in the number of events. A range query binary-searches
+ * the first capacity and then walks only the buckets inside the range.
+ * Kept current through {@link EventChangeListener}; reads share a lock.
+ */
+public class CapacityIndex implements EventChangeListener {
+
+    private static final int INITIAL_KEYS = 16;
+
+    // Distinct capacities in ascending order; slots from keyCount on are unused
+    private int[] capacities;
+    private IntLinkedSet[] buckets;
+    private int keyCount;
+    private final ReentrantReadWriteLock lock;
+
+    public CapacityIndex() {
+        this.capacities = new int[INITIAL_KEYS];
+        this.buckets = new IntLinkedSet[INITIAL_KEYS];
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    @Override
+    public void eventAdded(int eventOrdinal, EventAPI event) {
+        lock.writeLock().lock();
+        try {
+            int capacity = event.getCapacity();
+            int at = Arrays.binarySearch(capacities, 0, keyCount, capacity);
+            if (at < 0) {
+                at = insertKey(-at - 1, capacity);
+            }
+            buckets[at].add(eventOrdinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventRemoved(int eventOrdinal, EventAPI event) {
+        lock.writeLock().lock();
+        try {
+            int at = Arrays.binarySearch(capacities, 0, keyCount, event.getCapacity());
+            if (at >= 0 && buckets[at].remove(eventOrdinal) && buckets[at].isEmpty()) {
+                removeKey(at);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the events whose capacity lies in a range
+     * @param minCapacity smallest capacity included
+     * @param maxCapacity largest capacity included
+     * @return matching event ordinals in ascending order, for intersecting with other indexes
+     */
+    public int[] search(int minCapacity, int maxCapacity) {
+        int[] result = searchUnordered(minCapacity, maxCapacity);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Find the events whose capacity lies in a range, smallest capacity first,
+     * for callers that put the results in an order of their own
+     */
+    public int[] searchUnordered(int minCapacity, int maxCapacity) {
+        lock.readLock().lock();
+        try {
+            int from = firstAtLeast(minCapacity);
+            int to = rangeEnd(from, maxCapacity);
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                total += buckets[i].size();
+            }
+            int[] result = new int[total];
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                int[] ordinals = buckets[i].toArray();
+                System.arraycopy(ordinals, 0, result, n, ordinals.length);
+                n += ordinals.length;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the events whose capacity lies in a range without collecting them
+     */
+    public int count(int minCapacity, int maxCapacity) {
+        lock.readLock().lock();
+        try {
+            int from = firstAtLeast(minCapacity);
+            int to = rangeEnd(from, maxCapacity);
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                total += buckets[i].size();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return index of the first capacity at or above the given one, keyCount if none
+     */
+    private int firstAtLeast(int capacity) {
+        int at = Arrays.binarySearch(capacities, 0, keyCount, capacity);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    /**
+     * @return index just past the last capacity at or below maxCapacity, never before from
+     */
+    private int rangeEnd(int from, int maxCapacity) {
+        int to = from;
+        while (to < keyCount && capacities[to] <= maxCapacity) {
+            to++;
+        }
+        return to;
+    }
+
+    private int insertKey(int at, int capacity) {
+        if (keyCount == capacities.length) {
+            capacities = Arrays.copyOf(capacities, keyCount * 2);
+            buckets = Arrays.copyOf(buckets, keyCount * 2);
+        }
+        System.arraycopy(capacities, at, capacities, at + 1, keyCount - at);
+        System.arraycopy(buckets, at, buckets, at + 1, keyCount - at);
+        capacities[at] = capacity;
+        buckets[at] = new IntLinkedSet();
+        keyCount++;
+        return at;
+    }
+
+    private void removeKey(int at) {
+        System.arraycopy(capacities, at + 1, capacities, at, keyCount - at - 1);
+        System.arraycopy(buckets, at + 1, buckets, at, keyCount - at - 1);
+        keyCount--;
+        buckets[keyCount] = null;
+    }
+}
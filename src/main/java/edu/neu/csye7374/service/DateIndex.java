@@ -0,0 +1,138 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventChangeListener;
+import edu.neu.csye7374.util.IntLinkedSet;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Date-keyed index: epoch day -> ordinals of the events on that day.
+ * A range query seeks to the first day with a tree lookup and then walks
+ * only the days inside the range, so it costs O(log n + k) when results
+ * are wanted in date order.
+ * Kept current through {@link EventChangeListener}; reads share a lock.
+ */
+public class DateIndex implements EventChangeListener {
+
+    private final NavigableMap<Long, IntLinkedSet> days;
+    private final ReentrantReadWriteLock lock;
+    private int indexedCount;
+
+    public DateIndex() {
+        this.days = new TreeMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    @Override
+    public void eventAdded(int eventOrdinal, EventAPI event) {
+        if (event.getDate() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (days.computeIfAbsent(event.getDate().toEpochDay(), k -> new IntLinkedSet()).add(eventOrdinal)) {
+                indexedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventRemoved(int eventOrdinal, EventAPI event) {
+        if (event.getDate() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Long day = event.getDate().toEpochDay();
+            IntLinkedSet bucket = days.get(day);
+            if (bucket != null && bucket.remove(eventOrdinal)) {
+                indexedCount--;
+                if (bucket.isEmpty()) {
+                    days.remove(day);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the events dated inside a range
+     * @param startDate first day included, or null for no lower bound
+     * @param endDate last day included, or null for no upper bound
+     * @return matching event ordinals in ascending order, for intersecting with other indexes
+     */
+    public int[] search(LocalDate startDate, LocalDate endDate) {
+        int[] result = collect(startDate, endDate, false);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Find the events dated inside a range, newest day first (the order of
+     * getAllEvents); events on the same day come in the order they were added.
+     * Walks the buckets in order, so nothing needs sorting afterwards.
+     */
+    public int[] searchNewestFirst(LocalDate startDate, LocalDate endDate) {
+        return collect(startDate, endDate, true);
+    }
+
+    private int[] collect(LocalDate startDate, LocalDate endDate, boolean newestFirst) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, IntLinkedSet> range = range(startDate, endDate);
+            if (newestFirst) {
+                range = range.descendingMap();
+            }
+            int total = 0;
+            for (IntLinkedSet bucket : range.values()) {
+                total += bucket.size();
+            }
+            int[] result = new int[total];
+            int n = 0;
+            for (IntLinkedSet bucket : range.values()) {
+                int[] ordinals = bucket.toArray();
+                System.arraycopy(ordinals, 0, result, n, ordinals.length);
+                n += ordinals.length;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the events dated inside a range without collecting them
+     */
+    public int count(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            if (startDate == null && endDate == null) {
+                return indexedCount;
+            }
+            int total = 0;
+            for (IntLinkedSet bucket : range(startDate, endDate).values()) {
+                total += bucket.size();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<Long, IntLinkedSet> range(LocalDate startDate, LocalDate endDate) {
+        long from = startDate != null ? startDate.toEpochDay() : Long.MIN_VALUE;
+        long to = endDate != null ? endDate.toEpochDay() : Long.MAX_VALUE;
+        if (from > to) {
+            return new TreeMap<>();
+        }
+        return days.subMap(from, true, to, true);
+    }
+}
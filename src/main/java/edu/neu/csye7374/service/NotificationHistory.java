@@ -0,0 +1,189 @@
+package edu.neu.csye7374.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded notification history: key (a user or event id) -> the most recent
+ * messages sent for it.
+ *
+ * Each key keeps a ring of at most capacityPerKey entries, oldest overwritten
+ * first, and entries older than the TTL are evicted, lazily when a key is
+ * touched and by a periodic sweep that also forgets idle keys. An entry is a
+ * primitive timestamp plus a reference to the message the caller rendered,
+ * so a text rendered once and sent to many recipients (an announcement) is
+ * shared, not copied. Counters are maintained on every change, so totals
+ * cost O(1).
+ */
+public class NotificationHistory {
+
+    private static final int INITIAL_RING_SIZE = 8;
+    private static final long MIN_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final int capacityPerKey;
+    private final long ttlMillis;
+    private final Map<String, Ring> rings;
+
+    private long recordedCount;
+    private int retainedCount;
+    private long nextSweepMillis;
+
+    /** Entries of one key, oldest at head */
+    private static final class Ring {
+        long[] times;
+        String[] messages;
+        int head;
+        int size;
+
+        Ring() {
+            this.times = new long[INITIAL_RING_SIZE];
+            this.messages = new String[INITIAL_RING_SIZE];
+        }
+
+        int slot(int index) {
+            return (head + index) % times.length;
+        }
+    }
+
+    /**
+     * @param capacityPerKey most entries kept for one key
+     * @param ttlMillis how long an entry is kept
+     */
+    public NotificationHistory(int capacityPerKey, long ttlMillis) {
+        if (capacityPerKey < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Capacity and TTL must be positive");
+        }
+        this.capacityPerKey = capacityPerKey;
+        this.ttlMillis = ttlMillis;
+        this.rings = new HashMap<>();
+        this.nextSweepMillis = System.currentTimeMillis() + sweepInterval();
+    }
+
+    public synchronized void record(String key, long timeMillis, String message) {
+        sweepIfDue(timeMillis);
+        Ring ring = rings.computeIfAbsent(key, k -> new Ring());
+        evictExpired(ring, timeMillis);
+        if (ring.size == capacityPerKey) {
+            evictOldest(ring);
+        } else if (ring.size == ring.times.length) {
+            grow(ring);
+        }
+        int slot = ring.slot(ring.size);
+        ring.times[slot] = timeMillis;
+        ring.messages[slot] = message;
+        ring.size++;
+        retainedCount++;
+        recordedCount++;
+    }
+
+    /**
+     * @return "timestamp: message" lines for the key, oldest first, from sinceMillis on
+     */
+    public synchronized List<String> query(String key, long sinceMillis) {
+        Ring ring = rings.get(key);
+        if (ring == null) {
+            return new ArrayList<>();
+        }
+        evictExpired(ring, System.currentTimeMillis());
+        List<String> lines = new ArrayList<>(ring.size);
+        for (int i = 0; i < ring.size; i++) {
+            int slot = ring.slot(i);
+            if (ring.times[slot] >= sinceMillis) {
+                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(ring.times[slot]), ZoneId.systemDefault());
+                lines.add(time + ": " + ring.messages[slot]);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return entries currently kept for the key
+     */
+    public synchronized int count(String key) {
+        Ring ring = rings.get(key);
+        if (ring == null) {
+            return 0;
+        }
+        evictExpired(ring, System.currentTimeMillis());
+        return ring.size;
+    }
+
+    public synchronized void clear(String key) {
+        Ring ring = rings.remove(key);
+        while (ring != null && ring.size > 0) {
+            evictOldest(ring);
+        }
+    }
+
+    /**
+     * @return entries ever recorded, including evicted and cleared ones
+     */
+    public synchronized long getRecordedCount() {
+        return recordedCount;
+    }
+
+    /**
+     * @return entries currently kept across all keys
+     */
+    public synchronized int getRetainedCount() {
+        return retainedCount;
+    }
+
+    // ==================== EVICTION ====================
+
+    private void evictExpired(Ring ring, long nowMillis) {
+        long cutoff = nowMillis - ttlMillis;
+        while (ring.size > 0 && ring.times[ring.head] < cutoff) {
+            evictOldest(ring);
+        }
+    }
+
+    private void evictOldest(Ring ring) {
+        ring.messages[ring.head] = null;
+        ring.head = (ring.head + 1) % ring.times.length;
+        ring.size--;
+        retainedCount--;
+    }
+
+    /**
+     * Every so often walk all keys, so ones nobody touches still expire
+     */
+    private void sweepIfDue(long nowMillis) {
+        if (nowMillis < nextSweepMillis) {
+            return;
+        }
+        nextSweepMillis = nowMillis + sweepInterval();
+        Iterator<Ring> it = rings.values().iterator();
+        while (it.hasNext()) {
+            Ring ring = it.next();
+            evictExpired(ring, nowMillis);
+            if (ring.size == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private long sweepInterval() {
+        return Math.max(MIN_SWEEP_INTERVAL_MILLIS, ttlMillis / 4);
+    }
+
+    private void grow(Ring ring) {
+        int length = Math.min(capacityPerKey, ring.times.length * 2);
+        long[] times = new long[length];
+        String[] messages = new String[length];
+        for (int i = 0; i < ring.size; i++) {
+            int slot = ring.slot(i);
+            times[i] = ring.times[slot];
+            messages[i] = ring.messages[slot];
+        }
+        ring.times = times;
+        ring.messages = messages;
+        ring.head = 0;
+    }
+}
@@ -1,32 +1,62 @@
 package edu.neu.csye7374.service;
 
 import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.template.NotificationTemplates;
+import edu.neu.csye7374.template.TemplateEngine;
 import edu.neu.csye7374.user.Organizer;
 import edu.neu.csye7374.user.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 
 /**
  * Service class for handling all notification operations in the system.
  * Used by the facade to provide notification functionality.
+ * Messages come from precompiled templates in {@link NotificationTemplates},
+ * rendered in the service's locale. History is kept in bounded
+ * {@link NotificationHistory} stores, one for users and one for events.
  */
 public class NotificationService {
     
-    private Map<String, List<String>> notificationLog;
+    public static final int DEFAULT_USER_HISTORY = 100;
+    public static final int DEFAULT_EVENT_HISTORY = 500;
+    public static final Duration DEFAULT_HISTORY_TTL = Duration.ofDays(30);
+    
+    private final NotificationHistory userHistory;
+    private final NotificationHistory eventHistory;
+    private final TemplateEngine templates;
+    private volatile Locale locale;
     
     public NotificationService() {
-        this.notificationLog = new HashMap<>();
+        this(DEFAULT_USER_HISTORY, DEFAULT_EVENT_HISTORY, DEFAULT_HISTORY_TTL);
+    }
+    
+    /**
+     * @param perUser most history entries kept per user
+     * @param perEvent most history entries kept per event
+     * @param ttl how long history entries are kept
+     */
+    public NotificationService(int perUser, int perEvent, Duration ttl) {
+        this.userHistory = new NotificationHistory(perUser, ttl.toMillis());
+        this.eventHistory = new NotificationHistory(perEvent, ttl.toMillis());
+        this.templates = TemplateEngine.getInstance();
+        this.locale = Locale.getDefault();
+    }
+    
+    /**
+     * Set the locale notifications are rendered in
+     */
+    public void setLocale(Locale locale) {
+        this.locale = locale;
     }
     
     /**
      * Send welcome notification to new users
      */
     public void sendWelcomeNotification(User user) {
-        String message = "Welcome to Campus Event System, " + user.getName() + "!";
+        String message = render(NotificationTemplates.WELCOME, user.getName());
         sendNotification(user, message);
         System.out.println("Welcome notification sent to " + user.getName() + " (" + user.getEmail() + ")");
     }
@@ -35,7 +65,7 @@ public class NotificationService {
      * Send login notification
      */
     public void sendLoginNotification(User user) {
-        String message = "Successfully logged in at " + LocalDateTime.now();
+        String message = render(NotificationTemplates.LOGIN, LocalDateTime.now());
         sendNotification(user, message);
         System.out.println("Login notification sent to " + user.getName());
     }
@@ -44,7 +74,7 @@ public class NotificationService {
      * Send event creation notification to organizer
      */
     public void sendEventCreationNotification(Organizer organizer, EventAPI event) {
-        String message = "Event '" + event.getTitle() + "' has been successfully created and is now live!";
+        String message = render(NotificationTemplates.EVENT_LIVE, event.getTitle());
         sendNotification(organizer, message);
         System.out.println("Event creation notification sent to organizer " + organizer.getName());
     }
@@ -53,7 +83,7 @@ public class NotificationService {
      * Send registration confirmation to user
      */
     public void sendRegistrationConfirmation(User user, EventAPI event) {
-        String message = "You have been successfully registered for '" + event.getTitle() + "' on " + event.getDate();
+        String message = render(NotificationTemplates.REGISTRATION_SUCCESS, event.getTitle(), event.getDate());
         sendNotification(user, message);
         System.out.println("Registration confirmation sent to " + user.getName());
     }
@@ -62,7 +92,7 @@ public class NotificationService {
      * Send cancellation confirmation to user
      */
     public void sendCancellationConfirmation(User user, EventAPI event) {
-        String message = "Your registration for '" + event.getTitle() + "' has been cancelled successfully.";
+        String message = render(NotificationTemplates.CANCELLATION_SUCCESS, event.getTitle());
         sendNotification(user, message);
         System.out.println("Cancellation confirmation sent to " + user.getName());
     }
@@ -71,9 +101,10 @@ public class NotificationService {
      * Send system-wide announcement to all users
      */
     public void sendSystemAnnouncement(List<User> users, String message) {
+        // Same text for everyone, so render it once
+        String announcement = render(NotificationTemplates.SYSTEM_ANNOUNCEMENT, message);
         for (User user : users) {
-            String personalizedMessage = "System Announcement: " + message;
-            sendNotification(user, personalizedMessage);
+            sendNotification(user, announcement);
         }
         System.out.println("System announcement sent to " + users.size() + " users");
     }
@@ -82,8 +113,8 @@ public class NotificationService {
      * Send event reminder notification
      */
     public void sendEventReminder(User user, EventAPI event, int hoursBeforeEvent) {
-        String message = String.format("Reminder: Event '%s' is starting in %d hours at %s", 
-                                     event.getTitle(), hoursBeforeEvent, event.getLocation());
+        String message = render(NotificationTemplates.EVENT_REMINDER,
+                                event.getTitle(), hoursBeforeEvent, event.getLocation());
         sendNotification(user, message);
         System.out.println("Event reminder sent to " + user.getName());
     }
@@ -92,8 +123,7 @@ public class NotificationService {
      * Send event update notification
      */
     public void sendEventUpdateNotification(User user, EventAPI event, String updateDetails) {
-        String message = String.format("Event Update: '%s' has been updated. Details: %s", 
-                                     event.getTitle(), updateDetails);
+        String message = render(NotificationTemplates.EVENT_UPDATED, event.getTitle(), updateDetails);
         sendNotification(user, message);
         System.out.println("Event update notification sent to " + user.getName());
     }
@@ -102,21 +132,21 @@ public class NotificationService {
      * Send event cancellation notification
      */
     public void sendEventCancellationNotification(User user, EventAPI event) {
-        String message = String.format("Event Cancelled: '%s' scheduled for %s has been cancelled.", 
-                                     event.getTitle(), event.getDate());
+        String message = render(NotificationTemplates.EVENT_CANCELLED, event.getTitle(), event.getDate());
         sendNotification(user, message);
         System.out.println("Event cancellation notification sent to " + user.getName());
     }
     
+    private String render(String key, Object... args) {
+        return templates.render(locale, key, args);
+    }
+    
     /**
      * Generic notification sender
      */
     private void sendNotification(User user, String message) {
         // Log the notification
-        String userId = user.getId();
-        notificationLog.computeIfAbsent(userId, k -> new ArrayList<>()).add(
-            LocalDateTime.now() + ": " + message
-        );
+        userHistory.record(user.getId(), System.currentTimeMillis(), message);
         
         // In a real system, this would send email, SMS, push notification, etc.
         // For now, we'll just simulate the notification
@@ -127,10 +157,7 @@ public class NotificationService {
      * Log notification for event
      */
     public void logNotification(String eventId, String message) {
-        String logKey = "event_" + eventId;
-        notificationLog.computeIfAbsent(logKey, k -> new ArrayList<>()).add(
-            LocalDateTime.now() + ": " + message
-        );
+        eventHistory.record(eventId, System.currentTimeMillis(), message);
         System.out.println("Notification logged for event " + eventId);
     }
     
@@ -138,31 +165,43 @@ public class NotificationService {
      * Get notification history for a user
      */
     public List<String> getNotificationHistory(String userId) {
-        return notificationLog.getOrDefault(userId, new ArrayList<>());
+        return userHistory.query(userId, Long.MIN_VALUE);
+    }
+    
+    /**
+     * Get notification history for a user from a point in time on
+     */
+    public List<String> getNotificationHistory(String userId, long sinceMillis) {
+        return userHistory.query(userId, sinceMillis);
     }
     
     /**
      * Get notification history for an event
      */
     public List<String> getEventNotificationHistory(String eventId) {
-        String logKey = "event_" + eventId;
-        return notificationLog.getOrDefault(logKey, new ArrayList<>());
+        return eventHistory.query(eventId, Long.MIN_VALUE);
     }
     
     /**
      * Clear notification history for a user
      */
     public void clearNotificationHistory(String userId) {
-        notificationLog.remove(userId);
+        userHistory.clear(userId);
         System.out.println("Notification history cleared for user " + userId);
     }
     
     /**
-     * Get total number of notifications sent
+     * Get total number of notifications in user and event history
      */
     public int getTotalNotificationsSent() {
-        return notificationLog.values().stream()
-                              .mapToInt(List::size)
-                              .sum();
+        return userHistory.getRetainedCount() + eventHistory.getRetainedCount();
+    }
+    
+    /**
+     * Get number of user and event notifications ever recorded, including
+     * ones since evicted or cleared from history
+     */
+    public long getNotificationsRecordedCount() {
+        return userHistory.getRecordedCount() + eventHistory.getRecordedCount();
     }
 }
\ No newline at end of file
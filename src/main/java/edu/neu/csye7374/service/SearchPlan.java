@@ -0,0 +1,128 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Execution plan for an advanced search, built by {@link SearchService#plan}.
+ * Index steps run first, most selective (smallest estimate) first: the first
+ * one drives the query and the rest are intersected as sorted ordinal arrays.
+ * Criteria whose postings are much larger than the driving set are applied
+ * as filters on the surviving events instead.
+ * After the plan has run, {@link #explain()} also shows the actual row counts.
+ */
+public class SearchPlan {
+
+    public enum Access { INDEX, FILTER }
+
+    /**
+     * One criterion of the search and how it will be evaluated
+     */
+    public static final class Step {
+        private final String description;
+        private final Access access;
+        private final int estimate;
+        private final Supplier<int[]> lookup;
+        private final Predicate<EventAPI> filter;
+        private int actualRows = -1;
+
+        private Step(String description, Access access, int estimate,
+                     Supplier<int[]> lookup, Predicate<EventAPI> filter) {
+            this.description = description;
+            this.access = access;
+            this.estimate = estimate;
+            this.lookup = lookup;
+            this.filter = filter;
+        }
+
+        static Step index(String description, int estimate, Supplier<int[]> lookup) {
+            return new Step(description, Access.INDEX, estimate, lookup, null);
+        }
+
+        static Step filter(String description, int estimate, Predicate<EventAPI> filter) {
+            return new Step(description, Access.FILTER, estimate, null, filter);
+        }
+
+        public String getDescription() { return description; }
+        public Access getAccess() { return access; }
+        public int getEstimate() { return estimate; }
+        public int getActualRows() { return actualRows; }
+
+        int[] lookup() { return lookup.get(); }
+        boolean test(EventAPI event) { return filter.test(event); }
+        void recordRows(int rows) { this.actualRows = rows; }
+    }
+
+    private final List<Step> steps;
+    private final int totalEvents;
+    private boolean executed;
+
+    SearchPlan(List<Step> unordered, int totalEvents) {
+        List<Step> ordered = new ArrayList<>(unordered);
+        // Index steps before filters; within each group, most selective first
+        ordered.sort(Comparator.comparing(Step::getAccess).thenComparingInt(Step::getEstimate));
+        this.steps = Collections.unmodifiableList(ordered);
+        this.totalEvents = totalEvents;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return true if no criterion was given and every event matches
+     */
+    public boolean isFullScan() {
+        return steps.isEmpty();
+    }
+
+    void markExecuted() {
+        this.executed = true;
+    }
+
+    /**
+     * Describe the chosen plan, one line per step
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Search plan over ").append(totalEvents).append(" events:\n");
+        if (steps.isEmpty()) {
+            sb.append("  1. full scan (no criteria)\n");
+            return sb.toString();
+        }
+        boolean driven = false;
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            String role;
+            if (step.access == Access.FILTER) {
+                role = "filter   ";
+            } else if (!driven) {
+                role = "drive    ";
+                driven = true;
+            } else {
+                role = "intersect";
+            }
+            sb.append("  ").append(i + 1).append(". ").append(role).append(' ')
+              .append(step.description)
+              .append(" (est. ").append(step.estimate);
+            if (step.actualRows >= 0) {
+                sb.append(", actual ").append(step.actualRows);
+            } else if (executed) {
+                sb.append(", skipped: no rows left");
+            }
+            sb.append(")\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
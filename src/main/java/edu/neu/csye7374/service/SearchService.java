@@ -1,18 +1,74 @@
 package edu.neu.csye7374.service;
 
 import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.persistence.ColumnarEventStore;
+import edu.neu.csye7374.strategy.EventSorter;
+import edu.neu.csye7374.util.IntArrays;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Service class for handling all search and filtering operations for events.
  * Used by the facade to provide search functionality.
+ * The list-based methods filter whatever events they are given. A service
+ * built on an {@link EventManager} also keeps inverted indexes in sync with
+ * it and answers the index-backed overloads without scanning every event.
+ * Events moved out of the manager into a {@link ColumnarEventStore} archive
+ * are searched separately, by scanning the archive's columns.
  */
 public class SearchService {
     
+    // Index results are returned in getAllEvents order
+    private static final EventSorter DEFAULT_ORDER = new EventSorter();
+    // Tie-break of the default order among events on the same day
+    private static final Comparator<EventAPI> SAME_DAY_ORDER = Comparator.comparing(EventAPI::getId);
+    // A criterion whose posting is this many times the driving set is filtered instead of intersected
+    private static final int FILTER_RATIO = 8;
+    
+    private final EventManager eventManager;
+    private final TextIndex titleIndex;
+    private final TextIndex locationIndex;
+    private final TextIndex descriptionIndex;
+    private final DateIndex dateIndex;
+    private final CapacityIndex capacityIndex;
+    private volatile ColumnarEventStore archive;
+    
+    /**
+     * Create a service that only filters the lists passed to it
+     */
+    public SearchService() {
+        this.eventManager = null;
+        this.titleIndex = null;
+        this.locationIndex = null;
+        this.descriptionIndex = null;
+        this.dateIndex = null;
+        this.capacityIndex = null;
+    }
+    
+    /**
+     * Create a service with indexes kept up to date from the event manager
+     */
+    public SearchService(EventManager eventManager) {
+        this.eventManager = eventManager;
+        this.titleIndex = new TextIndex(EventAPI::getTitle);
+        this.locationIndex = new TextIndex(EventAPI::getLocation);
+        this.descriptionIndex = new TextIndex(EventAPI::getDescription);
+        this.dateIndex = new DateIndex();
+        this.capacityIndex = new CapacityIndex();
+        eventManager.addEventChangeListener(titleIndex);
+        eventManager.addEventChangeListener(locationIndex);
+        eventManager.addEventChangeListener(descriptionIndex);
+        eventManager.addEventChangeListener(dateIndex);
+        eventManager.addEventChangeListener(capacityIndex);
+    }
+    
     /**
      * Search events by title (case-insensitive partial match)
      */
@@ -179,6 +235,337 @@ public class SearchService {
         return result;
     }
     
+    // ==================== INDEX-BACKED SEARCH ====================
+    
+    /**
+     * Search all events by title (case-insensitive partial match) using the title index
+     */
+    public List<EventAPI> searchByTitle(String title) {
+        requireIndexes();
+        if (title == null || title.trim().isEmpty()) {
+            return eventManager.getAllEvents();
+        }
+        return resolve(titleIndex.search(title));
+    }
+    
+    /**
+     * Search all events by location (case-insensitive partial match) using the location index
+     */
+    public List<EventAPI> searchByLocation(String location) {
+        requireIndexes();
+        if (location == null || location.trim().isEmpty()) {
+            return eventManager.getAllEvents();
+        }
+        return resolve(locationIndex.search(location));
+    }
+    
+    /**
+     * Search all events by description keywords (case-insensitive) using the description index
+     */
+    public List<EventAPI> searchByDescription(String keyword) {
+        requireIndexes();
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return eventManager.getAllEvents();
+        }
+        return resolve(descriptionIndex.search(keyword));
+    }
+    
+    /**
+     * Search all events by date range using the date index
+     */
+    public List<EventAPI> searchByDateRange(LocalDate startDate, LocalDate endDate) {
+        requireIndexes();
+        if (startDate == null && endDate == null) {
+            return eventManager.getAllEvents();
+        }
+        return resolveNewestFirst(dateIndex.searchNewestFirst(startDate, endDate));
+    }
+    
+    /**
+     * Search all events on a specific date using the date index
+     */
+    public List<EventAPI> searchByDate(LocalDate date) {
+        requireIndexes();
+        if (date == null) {
+            return eventManager.getAllEvents();
+        }
+        return resolveNewestFirst(dateIndex.searchNewestFirst(date, date));
+    }
+    
+    /**
+     * Search all events occurring today using the date index
+     */
+    public List<EventAPI> searchTodaysEvents() {
+        return searchByDate(LocalDate.now());
+    }
+    
+    /**
+     * Search all events occurring this week using the date index
+     */
+    public List<EventAPI> searchThisWeekEvents() {
+        LocalDate today = LocalDate.now();
+        LocalDate startOfWeek = today.minusDays(today.getDayOfWeek().getValue() - 1);
+        return searchByDateRange(startOfWeek, startOfWeek.plusDays(6));
+    }
+    
+    /**
+     * Search all events occurring this month using the date index
+     */
+    public List<EventAPI> searchThisMonthEvents() {
+        LocalDate today = LocalDate.now();
+        return searchByDateRange(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
+    }
+    
+    /**
+     * Search all upcoming events (from today onwards) using the date index
+     */
+    public List<EventAPI> searchUpcomingEvents() {
+        return searchByDateRange(LocalDate.now(), null);
+    }
+    
+    /**
+     * Search all past events using the date index
+     */
+    public List<EventAPI> searchPastEvents() {
+        return searchByDateRange(null, LocalDate.now().minusDays(1));
+    }
+    
+    /**
+     * Search all events by capacity range using the capacity index
+     */
+    public List<EventAPI> searchByCapacityRange(int minCapacity, int maxCapacity) {
+        requireIndexes();
+        // One sort, into date order, in resolve
+        return resolve(capacityIndex.searchUnordered(minCapacity, maxCapacity));
+    }
+    
+    // ==================== ARCHIVE SEARCH ====================
+    
+    /**
+     * Search the given archive as well, through the archive methods below
+     * @param archive store of events no longer held by the event manager, or null for none
+     */
+    public void setArchive(ColumnarEventStore archive) {
+        this.archive = archive;
+    }
+    
+    /**
+     * Search archived events by date range with a scan of the archive's date column
+     * @return flyweight views of the matching events, in the order they were archived
+     */
+    public List<EventAPI> searchArchiveByDateRange(LocalDate startDate, LocalDate endDate) {
+        ColumnarEventStore store = archive;
+        return store != null ? views(store, store.rowsInDateRange(startDate, endDate)) : new ArrayList<>();
+    }
+    
+    /**
+     * Search archived events by capacity range with a scan of the archive's capacity column
+     * @return flyweight views of the matching events, in the order they were archived
+     */
+    public List<EventAPI> searchArchiveByCapacityRange(int minCapacity, int maxCapacity) {
+        ColumnarEventStore store = archive;
+        return store != null ? views(store, store.rowsWithCapacity(minCapacity, maxCapacity)) : new ArrayList<>();
+    }
+    
+    /**
+     * Count archived events in a date range without creating any views
+     */
+    public int countArchivedInDateRange(LocalDate startDate, LocalDate endDate) {
+        ColumnarEventStore store = archive;
+        return store != null ? store.countInDateRange(startDate, endDate) : 0;
+    }
+    
+    private static List<EventAPI> views(ColumnarEventStore store, int[] rows) {
+        List<EventAPI> events = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            events.add(store.view(row));
+        }
+        return events;
+    }
+    
+    // ==================== PLANNED ADVANCED SEARCH ====================
+    
+    /**
+     * Choose how to evaluate the criteria: every criterion is costed by its
+     * index and the cheapest drives the query. Another criterion is
+     * intersected through its index only while its posting is not much larger
+     * than the driving set; past that, checking it on the few surviving
+     * events is cheaper than reading the posting, so it becomes a filter.
+     */
+    public SearchPlan plan(SearchCriteria criteria) {
+        requireIndexes();
+        List<Criterion> criteriaList = new ArrayList<>();
+        
+        addTextCriterion(criteriaList, "title", titleIndex, criteria.getTitle());
+        addTextCriterion(criteriaList, "location", locationIndex, criteria.getLocation());
+        addTextCriterion(criteriaList, "description", descriptionIndex, criteria.getDescription());
+        
+        LocalDate start = criteria.getStartDate();
+        LocalDate end = criteria.getEndDate();
+        if (start != null || end != null) {
+            criteriaList.add(new Criterion(
+                    "date between " + (start != null ? start : "-inf") + " and " + (end != null ? end : "+inf"),
+                    dateIndex.count(start, end),
+                    () -> dateIndex.search(start, end),
+                    event -> event.getDate() != null
+                            && (start == null || !event.getDate().isBefore(start))
+                            && (end == null || !event.getDate().isAfter(end))));
+        }
+        
+        if (criteria.getMinCapacity() > 0 || criteria.getMaxCapacity() > 0) {
+            int minCap = criteria.getMinCapacity();
+            int maxCap = criteria.getMaxCapacity() > 0 ? criteria.getMaxCapacity() : Integer.MAX_VALUE;
+            criteriaList.add(new Criterion(
+                    "capacity between " + minCap + " and " + maxCap,
+                    capacityIndex.count(minCap, maxCap),
+                    () -> capacityIndex.search(minCap, maxCap),
+                    event -> event.getCapacity() >= minCap && event.getCapacity() <= maxCap));
+        }
+        
+        int driving = Integer.MAX_VALUE;
+        for (Criterion criterion : criteriaList) {
+            driving = Math.min(driving, criterion.estimate);
+        }
+        long filterAbove = (long) driving * FILTER_RATIO;
+        List<SearchPlan.Step> steps = new ArrayList<>(criteriaList.size());
+        boolean drivenByIndex = false;
+        for (Criterion criterion : criteriaList) {
+            boolean drives = !drivenByIndex && criterion.estimate == driving;
+            if (drives || criterion.estimate <= filterAbove) {
+                steps.add(SearchPlan.Step.index(criterion.description, criterion.estimate, criterion.lookup));
+                drivenByIndex = true;
+            } else {
+                steps.add(SearchPlan.Step.filter(criterion.description, criterion.estimate, criterion.filter));
+            }
+        }
+        return new SearchPlan(steps, eventManager.getEventCount());
+    }
+    
+    /**
+     * One search criterion with both ways of evaluating it
+     */
+    private static final class Criterion {
+        final String description;
+        final int estimate;
+        final Supplier<int[]> lookup;
+        final Predicate<EventAPI> filter;
+        
+        Criterion(String description, int estimate, Supplier<int[]> lookup, Predicate<EventAPI> filter) {
+            this.description = description;
+            this.estimate = estimate;
+            this.lookup = lookup;
+            this.filter = filter;
+        }
+    }
+    
+    private static void addTextCriterion(List<Criterion> criteria, String field, TextIndex index, String text) {
+        if (text != null && !text.trim().isEmpty()) {
+            criteria.add(new Criterion(
+                    field + " contains \"" + text.trim() + "\"",
+                    index.estimate(text),
+                    () -> index.search(text),
+                    index.matcher(text)));
+        }
+    }
+    
+    /**
+     * Advanced search over all events, driven by the cheapest index
+     */
+    public List<EventAPI> advancedSearch(SearchCriteria criteria) {
+        return execute(plan(criteria));
+    }
+    
+    /**
+     * Describe the plan advancedSearch would use for these criteria
+     */
+    public String explain(SearchCriteria criteria) {
+        return plan(criteria).explain();
+    }
+    
+    /**
+     * Run a plan; afterwards its explain() includes actual row counts
+     */
+    public List<EventAPI> execute(SearchPlan plan) {
+        requireIndexes();
+        plan.markExecuted();
+        if (plan.isFullScan()) {
+            return eventManager.getAllEvents();
+        }
+        
+        int[] candidates = null;
+        List<EventAPI> result = null;
+        for (SearchPlan.Step step : plan.getSteps()) {
+            if (step.getAccess() == SearchPlan.Access.INDEX) {
+                int[] matches = step.lookup();
+                candidates = candidates == null ? matches : IntArrays.intersect(candidates, matches);
+                step.recordRows(candidates.length);
+            } else {
+                if (result == null) {
+                    result = candidates != null ? resolve(candidates) : eventManager.getAllEvents();
+                }
+                List<EventAPI> kept = new ArrayList<>(result.size());
+                for (EventAPI event : result) {
+                    if (step.test(event)) {
+                        kept.add(event);
+                    }
+                }
+                result = kept;
+                step.recordRows(result.size());
+            }
+            if ((result == null && candidates.length == 0) || (result != null && result.isEmpty())) {
+                return new ArrayList<>();
+            }
+        }
+        return result != null ? result : resolve(candidates);
+    }
+    
+    private void requireIndexes() {
+        if (eventManager == null) {
+            throw new IllegalStateException("SearchService was created without an EventManager; use the list-based methods");
+        }
+    }
+    
+    /**
+     * Turn matching event ordinals into events, in the same (date) order as getAllEvents
+     */
+    private List<EventAPI> resolve(int[] eventOrdinals) {
+        List<EventAPI> result = new ArrayList<>(eventOrdinals.length);
+        for (int eventOrdinal : eventOrdinals) {
+            EventAPI event = eventManager.getEventByOrdinal(eventOrdinal);
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        return DEFAULT_ORDER.sortEvents(result);
+    }
+    
+    /**
+     * Turn event ordinals that are already newest day first into events in
+     * getAllEvents order: only events sharing a day still need ordering (by ID)
+     */
+    private List<EventAPI> resolveNewestFirst(int[] eventOrdinals) {
+        List<EventAPI> result = new ArrayList<>(eventOrdinals.length);
+        for (int eventOrdinal : eventOrdinals) {
+            EventAPI event = eventManager.getEventByOrdinal(eventOrdinal);
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        int start = 0;
+        while (start < result.size()) {
+            LocalDate day = result.get(start).getDate();
+            int end = start + 1;
+            while (end < result.size() && day.equals(result.get(end).getDate())) {
+                end++;
+            }
+            if (end - start > 1) {
+                result.subList(start, end).sort(SAME_DAY_ORDER);
+            }
+            start = end;
+        }
+        return result;
+    }
+    
     /**
      * Inner class for advanced search criteria
      */
@@ -0,0 +1,210 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.manager.EventChangeListener;
+import edu.neu.csye7374.util.IntLinkedSet;
+import edu.neu.csye7374.util.LongMap;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Trigram inverted index over one text field of the events, used for
+ * case-insensitive substring search. Every 3-character window of the
+ * lowercased field maps to the set of event ordinals containing it; a query
+ * intersects the postings of its own trigrams, starting from the smallest,
+ * and confirms the few surviving candidates against the stored lowercase text.
+ * A trigram is packed into a long and the postings are a primitive
+ * {@link LongMap}, so lookups and inserts never box a key.
+ * Queries shorter than a trigram scan the stored lowercase text, which is
+ * still allocation-free per event.
+ * Kept current through {@link EventChangeListener}; reads share a lock.
+ */
+public class TextIndex implements EventChangeListener {
+
+    private static final int GRAM = 3;
+    private static final int[] NONE = new int[0];
+
+    private final Function<EventAPI, String> field;
+    private final LongMap<IntLinkedSet> postings;
+    private final ReentrantReadWriteLock lock;
+    private String[] values;
+    private int indexedCount;
+
+    /**
+     * @param field extracts the indexed text from an event, e.g. EventAPI::getTitle
+     */
+    public TextIndex(Function<EventAPI, String> field) {
+        this.field = field;
+        this.postings = new LongMap<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.values = new String[64];
+    }
+
+    @Override
+    public void eventAdded(int eventOrdinal, EventAPI event) {
+        String text = normalize(field.apply(event));
+        lock.writeLock().lock();
+        try {
+            if (eventOrdinal >= values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, eventOrdinal + 1));
+            }
+            if (values[eventOrdinal] != null) {
+                unindex(eventOrdinal);
+            }
+            values[eventOrdinal] = text;
+            indexedCount++;
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                postings.computeIfAbsent(gram(text, i), k -> new IntLinkedSet()).add(eventOrdinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eventRemoved(int eventOrdinal, EventAPI event) {
+        lock.writeLock().lock();
+        try {
+            if (eventOrdinal < values.length && values[eventOrdinal] != null) {
+                unindex(eventOrdinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(int eventOrdinal) {
+        String text = values[eventOrdinal];
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            long key = gram(text, i);
+            IntLinkedSet posting = postings.get(key);
+            if (posting != null && posting.remove(eventOrdinal) && posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+        values[eventOrdinal] = null;
+        indexedCount--;
+    }
+
+    /**
+     * Find the events whose field contains the query, ignoring case
+     * @param query text to look for; trimmed and lowercased like the indexed text
+     * @return matching event ordinals in ascending order
+     */
+    public int[] search(String query) {
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (q.length() < GRAM) {
+                return scan(q);
+            }
+            IntLinkedSet[] grams = postingsFor(q);
+            if (grams == null) {
+                return NONE;
+            }
+            int[] matches = new int[grams[0].size()];
+            int n = 0;
+            for (int eventOrdinal : grams[0].toArray()) {
+                if (containsAll(grams, eventOrdinal) && values[eventOrdinal].contains(q)) {
+                    matches[n++] = eventOrdinal;
+                }
+            }
+            int[] result = Arrays.copyOf(matches, n);
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Upper bound on the number of matches, without touching any event
+     * @return size of the smallest trigram posting, or the indexed event count for short queries
+     */
+    public int estimate(String query) {
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (q.length() < GRAM) {
+                return indexedCount;
+            }
+            IntLinkedSet[] grams = postingsFor(q);
+            return grams == null ? 0 : grams[0].size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same match as {@link #search}, checked against a single event, for
+     * plans that filter candidates instead of reading the postings
+     */
+    public Predicate<EventAPI> matcher(String query) {
+        String q = normalize(query);
+        return event -> normalize(field.apply(event)).contains(q);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] scan(String q) {
+        int[] matches = new int[indexedCount];
+        int n = 0;
+        for (int eventOrdinal = 0; eventOrdinal < values.length && n < matches.length; eventOrdinal++) {
+            String text = values[eventOrdinal];
+            if (text != null && text.contains(q)) {
+                matches[n++] = eventOrdinal;
+            }
+        }
+        return Arrays.copyOf(matches, n);
+    }
+
+    /**
+     * @return the postings for every trigram of q, smallest first, or null if any trigram is absent
+     */
+    private IntLinkedSet[] postingsFor(String q) {
+        IntLinkedSet[] grams = new IntLinkedSet[q.length() - GRAM + 1];
+        int smallest = 0;
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = postings.get(gram(q, i));
+            if (grams[i] == null) {
+                return null;
+            }
+            if (grams[i].size() < grams[smallest].size()) {
+                smallest = i;
+            }
+        }
+        IntLinkedSet first = grams[smallest];
+        grams[smallest] = grams[0];
+        grams[0] = first;
+        return grams;
+    }
+
+    private static boolean containsAll(IntLinkedSet[] grams, int eventOrdinal) {
+        for (int i = 1; i < grams.length; i++) {
+            if (!grams[i].contains(eventOrdinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+                | ((long) text.charAt(start + 1) << 16)
+                | text.charAt(start + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase().trim();
+    }
+}
@@ -2,19 +2,116 @@ package edu.neu.csye7374.strategy;
 
 import edu.neu.csye7374.event.EventAPI;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.ListIterator;
 
+/**
+ * Sorter with a default order set at construction; a different order can be
+ * passed per call with {@link #sortEvents(List, Comparator)}, so one instance
+ * can be shared by any number of threads.
+ * Strategies are chained into a composite order (the first strategy wins,
+ * later ones break ties, the event ID breaks any remaining ones).
+ * Lists longer than the parallel threshold are sorted with Arrays.parallelSort.
+ */
 public class EventSorter {
-    private SortStrategy sortStrategy;
 
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    private volatile Comparator<KeyedEvent> comparator;
+    private final int parallelThreshold;
+
+    /**
+     * Sorter using the default order (by date)
+     */
+    public EventSorter() {
+        this(new SortByDate());
+    }
+
+    /**
+     * @param primary strategy that decides the order
+     * @param tieBreakers strategies applied, in turn, to events the previous ones consider equal
+     */
+    public EventSorter(SortStrategy primary, SortStrategy... tieBreakers) {
+        this(composite(primary, tieBreakers), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    private EventSorter(Comparator<KeyedEvent> comparator, int parallelThreshold) {
+        this.comparator = comparator;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Composite order for {@link #sortEvents(List, Comparator)}
+     * @param primary strategy that decides the order
+     * @param tieBreakers strategies applied, in turn, to events the previous ones consider equal
+     */
+    public static Comparator<KeyedEvent> composite(SortStrategy primary, SortStrategy... tieBreakers) {
+        Comparator<KeyedEvent> order = primary.comparator();
+        for (SortStrategy strategy : tieBreakers) {
+            order = order.thenComparing(strategy.comparator());
+        }
+        return order.thenComparing(KeyedEvent.BY_ID);
+    }
+
+    /**
+     * Replace the default order
+     * @deprecated changes the order for every thread sharing this sorter;
+     *             pass the order per call with {@link #sortEvents(List, Comparator)}
+     */
+    @Deprecated
     public void setSortStrategy(SortStrategy sortStrategy) {
-        this.sortStrategy = sortStrategy;
+        this.comparator = composite(sortStrategy);
     }
 
+    /**
+     * @return a sorter with the same order that goes parallel above the given list size
+     */
+    public EventSorter withParallelThreshold(int parallelThreshold) {
+        return new EventSorter(comparator, Math.max(parallelThreshold, 1));
+    }
+
+    public Comparator<KeyedEvent> getComparator() {
+        return comparator;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sort the list in place in the default order
+     * @return the same list, sorted
+     */
     public List<EventAPI> sortEvents(List<EventAPI> events) {
-        if (sortStrategy == null) {
-            setSortStrategy(new SortByDate());
+        return sortEvents(events, comparator);
+    }
+
+    /**
+     * Sort the list in place in the given order, e.g. one built with
+     * {@link #composite}; events the order considers equal keep no
+     * particular order unless it ends with {@link KeyedEvent#BY_ID}
+     * @return the same list, sorted
+     */
+    public List<EventAPI> sortEvents(List<EventAPI> events, Comparator<KeyedEvent> order) {
+        KeyedEvent[] keyed = new KeyedEvent[events.size()];
+        int i = 0;
+        for (EventAPI event : events) {
+            keyed[i++] = new KeyedEvent(event);
+        }
+
+        if (keyed.length > parallelThreshold) {
+            Arrays.parallelSort(keyed, order);
+        } else {
+            Arrays.sort(keyed, order);
+        }
+
+        ListIterator<EventAPI> it = events.listIterator();
+        for (KeyedEvent k : keyed) {
+            it.next();
+            it.set(k.getEvent());
         }
-        return sortStrategy.sortEvents(events);
+        return events;
     }
 }
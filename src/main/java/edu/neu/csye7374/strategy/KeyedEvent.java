@@ -0,0 +1,46 @@
+package edu.neu.csye7374.strategy;
+
+import edu.neu.csye7374.event.EventAPI;
+
+import java.util.Comparator;
+
+/**
+ * An event with its sort keys read once up front.
+ * Comparators work on these plain fields, so sorting never calls back into
+ * (possibly decorated) EventAPI getters on each comparison.
+ */
+public final class KeyedEvent {
+
+    /**
+     * Final tie-breaker that gives every event a unique, stable position
+     */
+    public static final Comparator<KeyedEvent> BY_ID = Comparator.comparing(KeyedEvent::getId);
+
+    private final EventAPI event;
+    private final String id;
+    private final long epochDay;
+    private final String title;
+
+    public KeyedEvent(EventAPI event) {
+        this.event = event;
+        this.id = event.getId() != null ? event.getId() : "";
+        this.epochDay = event.getDate() != null ? event.getDate().toEpochDay() : Long.MIN_VALUE;
+        this.title = event.getTitle() != null ? event.getTitle() : "";
+    }
+
+    public EventAPI getEvent() {
+        return event;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
@@ -6,12 +6,20 @@ import java.util.Comparator;
 import java.util.List;
 
 public class SortByDate implements SortStrategy {
+
+    // Newest first
+    public static final Comparator<KeyedEvent> ORDER =
+            Comparator.comparingLong(KeyedEvent::getEpochDay).reversed();
+
     @Override
     public List<EventAPI> sortEvents(List<EventAPI> events) {
         System.out.println("Sorting events by date...");
 
-        events.sort(Comparator.comparing(EventAPI::getDate).reversed());
+        return new EventSorter(this).sortEvents(events);
+    }
 
-        return events;
+    @Override
+    public Comparator<KeyedEvent> comparator() {
+        return ORDER;
     }
 }
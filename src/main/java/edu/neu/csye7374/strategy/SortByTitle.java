@@ -6,11 +6,20 @@ import java.util.Comparator;
 import java.util.List;
 
 public class SortByTitle implements SortStrategy {
+
+    // Title Z to A
+    public static final Comparator<KeyedEvent> ORDER =
+            Comparator.comparing(KeyedEvent::getTitle).reversed();
+
     @Override
     public List<EventAPI> sortEvents(List<EventAPI> events) {
         System.out.println("Sorting events by title...");
 
-        events.sort(Comparator.comparing(EventAPI::getTitle).reversed());
-        return events;
+        return new EventSorter(this).sortEvents(events);
+    }
+
+    @Override
+    public Comparator<KeyedEvent> comparator() {
+        return ORDER;
     }
 }
@@ -2,8 +2,15 @@ package edu.neu.csye7374.strategy;
 
 import edu.neu.csye7374.event.EventAPI;
 
+import java.util.Comparator;
 import java.util.List;
 
 public interface SortStrategy {
     List<EventAPI> sortEvents(List<EventAPI> events);
+
+    /**
+     * Order imposed by this strategy, over precomputed keys, so strategies
+     * can be chained into a composite order by {@link EventSorter}
+     */
+    Comparator<KeyedEvent> comparator();
 }
@@ -0,0 +1,148 @@
+package edu.neu.csye7374.template;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message template parsed once into alternating literal segments and
+ * argument slots, e.g. "You're registered for {0} on {1}".
+ *
+ * Placeholders are "{n}" with n the zero-based argument index; an index may
+ * appear several times or in any order, so a translation can move arguments
+ * around. "{{" is a literal brace; any other brace is kept as text. Rendering
+ * walks the segment arrays and appends, with no parsing, regex or
+ * {@link String#format} on the hot path. Literals are also kept pre-encoded
+ * as UTF-8 so byte-level output is a straight copy. Instances are immutable
+ * and thread-safe.
+ */
+public final class MessageTemplate {
+
+    private final String source;
+    // literals[i] comes before slot i; the last literal follows the last slot
+    private final String[] literals;
+    private final byte[][] literalBytes;
+    private final int[] slots;
+    private final int arity;
+    private final int literalLength;
+
+    private MessageTemplate(String source, String[] literals, int[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.literalBytes = new byte[literals.length][];
+        int length = 0;
+        for (int i = 0; i < literals.length; i++) {
+            literalBytes[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+            length += literals[i].length();
+        }
+        this.literalLength = length;
+        int highest = -1;
+        for (int slot : slots) {
+            highest = Math.max(highest, slot);
+        }
+        this.arity = highest + 1;
+    }
+
+    /**
+     * Parse a template
+     * @throws IllegalArgumentException if a placeholder index is not a number
+     */
+    public static MessageTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '{' && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+                continue;
+            }
+            int close = c == '{' ? source.indexOf('}', i + 1) : -1;
+            if (close > i + 1 && isDigits(source, i + 1, close)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                try {
+                    slots.add(Integer.parseInt(source.substring(i + 1, close)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad placeholder in template: " + source, e);
+                }
+                i = close + 1;
+                continue;
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        int[] slotArray = new int[slots.size()];
+        for (int s = 0; s < slotArray.length; s++) {
+            slotArray[s] = slots.get(s);
+        }
+        return new MessageTemplate(source, literals.toArray(new String[0]), slotArray);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return number of arguments the template expects
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    public String render(Object... args) {
+        return renderTo(new StringBuilder(literalLength + 16 * slots.length), args).toString();
+    }
+
+    /**
+     * Append the rendered message to a caller-owned (typically reused) builder
+     */
+    public StringBuilder renderTo(StringBuilder out, Object... args) {
+        checkArity(args);
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(args[slots[i]]).append(literals[i + 1]);
+        }
+        return out;
+    }
+
+    /**
+     * Write the rendered message as UTF-8; literal segments are copied as is
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public ByteBuffer renderTo(ByteBuffer out, Object... args) {
+        checkArity(args);
+        out.put(literalBytes[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.put(String.valueOf(args[slots[i]]).getBytes(StandardCharsets.UTF_8));
+            out.put(literalBytes[i + 1]);
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private void checkArity(Object[] args) {
+        if (args.length < arity) {
+            throw new IllegalArgumentException("Template needs " + arity + " arguments, got "
+                    + args.length + ": " + source);
+        }
+    }
+
+    private static boolean isDigits(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.neu.csye7374.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keys and default (English) texts of the notification templates. The
+ * defaults are registered for {@link java.util.Locale#ROOT}, so every locale
+ * falls back to them; translations are added with
+ * {@link TemplateEngine#register}. Arguments are listed next to each key.
+ */
+public final class NotificationTemplates {
+
+    // {0} event title, {1} event date
+    public static final String REGISTRATION_CONFIRMED_SUBJECT = "registration.confirmed.subject";
+    public static final String REGISTRATION_CONFIRMED_BODY = "registration.confirmed.body";
+    // {0} event title / description
+    public static final String EVENT_CREATED_SUBJECT = "event.created.subject";
+    public static final String EVENT_CREATED_BODY = "event.created.body";
+    // {0} event title
+    public static final String REGISTRATION_CANCELLED_SUBJECT = "registration.cancelled.subject";
+    public static final String REGISTRATION_CANCELLED_BODY = "registration.cancelled.body";
+
+    // {0} user name
+    public static final String WELCOME = "welcome";
+    // {0} login time
+    public static final String LOGIN = "login";
+    // {0} event title
+    public static final String EVENT_LIVE = "event.live";
+    // {0} event title, {1} event date
+    public static final String REGISTRATION_SUCCESS = "registration.success";
+    // {0} event title
+    public static final String CANCELLATION_SUCCESS = "cancellation.success";
+    // {0} announcement text
+    public static final String SYSTEM_ANNOUNCEMENT = "system.announcement";
+    // {0} event title, {1} hours until start, {2} location
+    public static final String EVENT_REMINDER = "event.reminder";
+    // {0} event title, {1} update details
+    public static final String EVENT_UPDATED = "event.updated";
+    // {0} event title, {1} event date
+    public static final String EVENT_CANCELLED = "event.cancelled";
+
+    private NotificationTemplates() {
+    }
+
+    static Map<String, String> defaults() {
+        Map<String, String> texts = new LinkedHashMap<>();
+        texts.put(REGISTRATION_CONFIRMED_SUBJECT, "Registration Confirmed: {0}");
+        texts.put(REGISTRATION_CONFIRMED_BODY, "You're registered for {0} on {1}");
+        texts.put(EVENT_CREATED_SUBJECT, "New Event: {0}");
+        texts.put(EVENT_CREATED_BODY, "An event has been created: {0}");
+        texts.put(REGISTRATION_CANCELLED_SUBJECT, "Event Registration Cancelled");
+        texts.put(REGISTRATION_CANCELLED_BODY, "You have cancelled your registration for {0}");
+        texts.put(WELCOME, "Welcome to Campus Event System, {0}!");
+        texts.put(LOGIN, "Successfully logged in at {0}");
+        texts.put(EVENT_LIVE, "Event '{0}' has been successfully created and is now live!");
+        texts.put(REGISTRATION_SUCCESS, "You have been successfully registered for '{0}' on {1}");
+        texts.put(CANCELLATION_SUCCESS, "Your registration for '{0}' has been cancelled successfully.");
+        texts.put(SYSTEM_ANNOUNCEMENT, "System Announcement: {0}");
+        texts.put(EVENT_REMINDER, "Reminder: Event '{0}' is starting in {1} hours at {2}");
+        texts.put(EVENT_UPDATED, "Event Update: '{0}' has been updated. Details: {1}");
+        texts.put(EVENT_CANCELLED, "Event Cancelled: '{0}' scheduled for {1} has been cancelled.");
+        return texts;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.neu.csye7374.template;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up and renders {@link MessageTemplate}s by key and locale.
+ *
+ * Template texts are registered per locale; a lookup falls back from the
+ * full locale to its language and finally to {@link Locale#ROOT}, where the
+ * {@link NotificationTemplates} defaults live. Each (locale, key) pair is
+ * compiled on first use and cached, so steady-state rendering is two map
+ * reads plus appends into a per-thread builder that is reused across calls.
+ */
+public final class TemplateEngine {
+
+    // Builders that grew past this are dropped instead of kept per thread
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final Map<Locale, Map<String, String>> texts;
+    private final Map<Locale, Map<String, MessageTemplate>> compiled;
+    private final ThreadLocal<StringBuilder> builders;
+
+    public TemplateEngine() {
+        this.texts = new ConcurrentHashMap<>();
+        this.compiled = new ConcurrentHashMap<>();
+        this.builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+        NotificationTemplates.defaults().forEach((key, text) -> register(Locale.ROOT, key, text));
+    }
+
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class Holder {
+        private static final TemplateEngine INSTANCE = new TemplateEngine();
+    }
+
+    public static TemplateEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Add or replace the text of a template for a locale
+     * @throws IllegalArgumentException if the text is not a valid template
+     */
+    public void register(Locale locale, String key, String text) {
+        MessageTemplate.compile(text);
+        texts.computeIfAbsent(locale, l -> new ConcurrentHashMap<>()).put(key, text);
+        // Other locales may have resolved this key through a fallback
+        compiled.clear();
+    }
+
+    /**
+     * @return the compiled template, from the cache after the first call
+     * @throws IllegalArgumentException if no locale in the fallback chain has the key
+     */
+    public MessageTemplate get(Locale locale, String key) {
+        Map<String, MessageTemplate> byKey = compiled.get(locale);
+        if (byKey == null) {
+            byKey = compiled.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+        }
+        MessageTemplate template = byKey.get(key);
+        if (template == null) {
+            template = byKey.computeIfAbsent(key, k -> MessageTemplate.compile(resolve(locale, k)));
+        }
+        return template;
+    }
+
+    public String render(Locale locale, String key, Object... args) {
+        MessageTemplate template = get(locale, key);
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        String message = template.renderTo(builder, args).toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builders.remove();
+        }
+        return message;
+    }
+
+    private String resolve(Locale locale, String key) {
+        for (Locale candidate : fallbacks(locale)) {
+            Map<String, String> forLocale = texts.get(candidate);
+            String text = forLocale != null ? forLocale.get(key) : null;
+            if (text != null) {
+                return text;
+            }
+        }
+        throw new IllegalArgumentException("No template '" + key + "' for locale " + locale);
+    }
+
+    private static Locale[] fallbacks(Locale locale) {
+        return new Locale[] {
+            locale,
+            new Locale(locale.getLanguage(), locale.getCountry()),
+            new Locale(locale.getLanguage()),
+            Locale.ROOT
+        };
+    }
+}
@@ -2,6 +2,7 @@ package edu.neu.csye7374.ui;
 
 import edu.neu.csye7374.event.EventAPI;
 import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.EventOrder;
 import edu.neu.csye7374.user.User;
 import edu.neu.csye7374.user.Student;
 import edu.neu.csye7374.user.Organizer;
@@ -262,7 +263,7 @@ public class EventManagementUI extends JFrame {
         }
 
         for (EventAPI event : events) {
-            List<User> participants = eventManager.getEventParticipants(event.getId());
+            int participantCount = eventManager.getParticipantCount(event.getId());
             String eventType = event.getClass().getSimpleName().replace("Event", "");
             model.addRow(new Object[]{
                     event.getId(),
@@ -271,7 +272,7 @@ public class EventManagementUI extends JFrame {
                     event.getDate().toString(),
                     event.getLocation(),
                     event.getCapacity(),
-                    participants.size()
+                    participantCount
             });
         }
     }
@@ -345,16 +346,12 @@ public class EventManagementUI extends JFrame {
     }
 
     private void updateStats() {
-        List<EventAPI> events = eventManager.getAllEvents();
-        List<User> users = eventManager.getAllUsers();
-
-        int totalParticipants = 0;
-        for (EventAPI event : events) {
-            totalParticipants += eventManager.getEventParticipants(event.getId()).size();
-        }
+        int totalParticipants = eventManager.streamEvents(EventOrder.DATE)
+                .mapToInt(event -> eventManager.getParticipantCount(event.getId()))
+                .sum();
 
         statsLabel.setText(String.format("Events: %d | Users: %d | Registrations: %d",
-                events.size(), users.size(), totalParticipants));
+                eventManager.getEventCount(), eventManager.getUserCount(), totalParticipants));
     }
 
     // -------------------- New User dialog --------------------
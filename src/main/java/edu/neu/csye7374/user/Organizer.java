@@ -1,10 +1,15 @@
 package edu.neu.csye7374.user;
 
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
 import java.util.ArrayList;
 import java.util.List;
 
 
 public class Organizer extends User {
+
+    private static final Logger LOG = LogManager.getLogger(Organizer.class);
+
     private String department;
     private String role;
     private List<String> createdEvents;
@@ -20,14 +25,14 @@ public class Organizer extends User {
     @Override
     public boolean register() {
         // Organizer registration logic
-        System.out.println("Organizer " + getName() + " registered successfully.");
+        LOG.info("Organizer {} registered successfully.", getName());
         return true;
     }
     
     @Override
     public boolean login() {
         // Organizer login logic
-        System.out.println("Organizer " + getName() + " logged in successfully.");
+        LOG.info("Organizer {} logged in successfully.", getName());
         return true;
     }
     
@@ -40,8 +45,7 @@ public class Organizer extends User {
         // Add the event to the organizer's created events list
         createdEvents.add(eventId);
         
-        System.out.println("Organizer " + getName() + " created " + eventType + 
-                          " event: " + title + " (ID: " + eventId + ")");
+        LOG.debug("Organizer {} created {} event: {} (ID: {})", getName(), eventType, title, eventId);
         
         return eventId;
     }
@@ -50,10 +54,10 @@ public class Organizer extends User {
     public boolean updateEvent(String eventId, String title, String description, 
                              String date, String location, int capacity) {
         if (createdEvents.contains(eventId)) {
-            System.out.println("Organizer " + getName() + " updated event: " + eventId);
+            LOG.debug("Organizer {} updated event: {}", getName(), eventId);
             return true;
         }
-        System.out.println("Organizer " + getName() + " cannot update event: " + eventId + " (not created by this organizer)");
+        LOG.debug("Organizer {} cannot update event: {} (not created by this organizer)", getName(), eventId);
         return false;
     }
     
@@ -61,10 +65,10 @@ public class Organizer extends User {
     public boolean cancelEvent(String eventId) {
         if (createdEvents.contains(eventId)) {
             createdEvents.remove(eventId);
-            System.out.println("Organizer " + getName() + " cancelled event: " + eventId);
+            LOG.debug("Organizer {} cancelled event: {}", getName(), eventId);
             return true;
         }
-        System.out.println("Organizer " + getName() + " cannot cancel event: " + eventId + " (not created by this organizer)");
+        LOG.debug("Organizer {} cannot cancel event: {} (not created by this organizer)", getName(), eventId);
         return false;
     }
     
@@ -1,14 +1,22 @@
 package edu.neu.csye7374.user;
 
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 
 public class Student extends User {
+
+    private static final Logger LOG = LogManager.getLogger(Student.class);
+
     private String studentId;
     private String major;
     private int year;
-    private List<String> registeredEvents;
+    // Insertion-ordered set: O(1) membership checks, registration order on iteration
+    private Set<String> registeredEvents;
     
     
     public Student(String id, String name, String email, String studentId, String major, int year) {
@@ -16,45 +24,58 @@ public class Student extends User {
         this.studentId = studentId;
         this.major = major;
         this.year = year;
-        this.registeredEvents = new ArrayList<>();
+        this.registeredEvents = new LinkedHashSet<>();
     }
     
     @Override
     public boolean register() {
-        System.out.println("Student " + getName() + " registered successfully.");
+        LOG.info("Student {} registered successfully.", getName());
         return true;
     }
     
     @Override
     public boolean login() {
         // Student login logic
-        System.out.println("Student " + getName() + " logged in successfully.");
+        LOG.info("Student {} logged in successfully.", getName());
         return true;
     }
     
    
-    public boolean registerForEvent(String eventId) {
-        if (!registeredEvents.contains(eventId)) {
-            registeredEvents.add(eventId);
-            System.out.println("Student " + getName() + " registered for event: " + eventId);
+    public synchronized boolean registerForEvent(String eventId) {
+        if (registeredEvents.add(eventId)) {
+            LOG.debug("Student {} registered for event: {}", getName(), eventId);
             return true;
         }
-        System.out.println("Student " + getName() + " is already registered for event: " + eventId);
+        LOG.debug("Student {} is already registered for event: {}", getName(), eventId);
         return false;
     }
     
     
-    public boolean cancelEventRegistration(String eventId) {
+    public synchronized boolean cancelEventRegistration(String eventId) {
         if (registeredEvents.remove(eventId)) {
-            System.out.println("Student " + getName() + " cancelled registration for event: " + eventId);
+            LOG.debug("Student {} cancelled registration for event: {}", getName(), eventId);
             return true;
         }
-        System.out.println("Student " + getName() + " was not registered for event: " + eventId);
+        LOG.debug("Student {} was not registered for event: {}", getName(), eventId);
         return false;
     }
     
     
-    public List<String> getRegisteredEvents() {
+    /**
+     * Record a registration while rebuilding state from a log; no console output
+     */
+    public synchronized void restoreEventRegistration(String eventId) {
+        registeredEvents.add(eventId);
+    }
+    
+    /**
+     * Drop a registration while rebuilding state from a log; no console output
+     */
+    public synchronized void restoreEventCancellation(String eventId) {
+        registeredEvents.remove(eventId);
+    }
+    
+    public synchronized List<String> getRegisteredEvents() {
         return new ArrayList<>(registeredEvents);
     }
     
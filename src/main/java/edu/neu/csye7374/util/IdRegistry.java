@@ -0,0 +1,186 @@
+package edu.neu.csye7374.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Interns string IDs into a dense int space and stores one value per ID.
+ * A string ID is hashed once at the API boundary; after that everything
+ * (rosters, indexes) works on the int ordinal, and ordinal -> value is an
+ * array read. Ordinals are never reused, so an ID keeps its ordinal even
+ * after its value is cleared and later set again.
+ * Lookups are lock-free; only handing out a new ordinal takes a lock.
+ *
+ * @param <T> type of the value stored per ID
+ */
+public class IdRegistry<T> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final ConcurrentHashMap<String, Integer> ordinals;
+    private final AtomicInteger liveCount;
+    private volatile Chunk<T>[] chunks;
+    private volatile int ordinalCount;
+
+    private static final class Chunk<T> {
+        final String[] ids = new String[CHUNK_SIZE];
+        final AtomicReferenceArray<T> values = new AtomicReferenceArray<>(CHUNK_SIZE);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IdRegistry() {
+        this.ordinals = new ConcurrentHashMap<>();
+        this.liveCount = new AtomicInteger();
+        this.chunks = (Chunk<T>[]) new Chunk[4];
+    }
+
+    /**
+     * Get the ordinal for an ID, assigning the next free one if the ID is new
+     */
+    public int intern(String id) {
+        Integer existing = ordinals.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = ordinals.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            int ordinal = ordinalCount;
+            chunkFor(ordinal, true).ids[ordinal & CHUNK_MASK] = id;
+            ordinalCount = ordinal + 1;
+            ordinals.put(id, ordinal);
+            return ordinal;
+        }
+    }
+
+    /**
+     * @return the ordinal of an ID, or -1 if it was never interned
+     */
+    public int ordinalOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        Integer ordinal = ordinals.get(id);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String idOf(int ordinal) {
+        Chunk<T> chunk = chunkFor(ordinal, false);
+        return chunk != null ? chunk.ids[ordinal & CHUNK_MASK] : null;
+    }
+
+    public T get(int ordinal) {
+        Chunk<T> chunk = chunkFor(ordinal, false);
+        return chunk != null ? chunk.values.get(ordinal & CHUNK_MASK) : null;
+    }
+
+    public T get(String id) {
+        return get(ordinalOf(id));
+    }
+
+    /**
+     * Store the value for an ordinal; null clears it
+     * @return the previous value
+     */
+    public T set(int ordinal, T value) {
+        Chunk<T> chunk = chunkFor(ordinal, false);
+        if (chunk == null) {
+            throw new IllegalArgumentException("Unknown ordinal: " + ordinal);
+        }
+        T previous = chunk.values.getAndSet(ordinal & CHUNK_MASK, value);
+        adjustLiveCount(previous, value);
+        return previous;
+    }
+
+    /**
+     * Clear the value for an ordinal only if it is still the expected one
+     */
+    public boolean clear(int ordinal, T expected) {
+        Chunk<T> chunk = chunkFor(ordinal, false);
+        if (chunk != null && chunk.values.compareAndSet(ordinal & CHUNK_MASK, expected, null)) {
+            adjustLiveCount(expected, null);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return number of IDs that currently have a value
+     */
+    public int size() {
+        return liveCount.get();
+    }
+
+    /**
+     * @return one past the highest ordinal handed out so far
+     */
+    public int ordinalLimit() {
+        return ordinalCount;
+    }
+
+    /**
+     * Visit every current value in ordinal order
+     */
+    public void forEach(Consumer<? super T> action) {
+        int limit = ordinalCount;
+        for (int ordinal = 0; ordinal < limit; ordinal++) {
+            T value = get(ordinal);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Lazily walk the current values in ordinal order without copying them
+     */
+    public Stream<T> stream() {
+        return IntStream.range(0, ordinalCount).mapToObj(this::get).filter(value -> value != null);
+    }
+
+    public List<T> values() {
+        List<T> result = new ArrayList<>(size());
+        forEach(result::add);
+        return result;
+    }
+
+    private void adjustLiveCount(T previous, T value) {
+        if (previous == null && value != null) {
+            liveCount.incrementAndGet();
+        } else if (previous != null && value == null) {
+            liveCount.decrementAndGet();
+        }
+    }
+
+    private Chunk<T> chunkFor(int ordinal, boolean create) {
+        if (ordinal < 0) {
+            return null;
+        }
+        int index = ordinal >>> CHUNK_BITS;
+        Chunk<T>[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        if (!create) {
+            return null;
+        }
+        // Only reached from intern(), which holds the registry lock
+        if (index >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, index + 1));
+        }
+        current[index] = new Chunk<>();
+        chunks = current;
+        return current[index];
+    }
+}
@@ -0,0 +1,59 @@
+package edu.neu.csye7374.util;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for sorted, duplicate-free int arrays used as candidate ID sets.
+ */
+public final class IntArrays {
+
+    // Above this size ratio, galloping through the larger array beats a linear merge
+    private static final int GALLOP_RATIO = 16;
+
+    private IntArrays() {
+    }
+
+    /**
+     * Intersect two ascending arrays
+     * @return values present in both, ascending
+     */
+    public static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        int[] result = new int[a.length];
+        int n = 0;
+        if (a.length * GALLOP_RATIO < b.length) {
+            int from = 0;
+            for (int value : a) {
+                int at = Arrays.binarySearch(b, from, b.length, value);
+                if (at >= 0) {
+                    result[n++] = value;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+                if (from == b.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+}
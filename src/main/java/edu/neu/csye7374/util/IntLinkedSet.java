@@ -0,0 +1,214 @@
+package edu.neu.csye7374.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Insertion-ordered set of non-negative ints with O(1) add, remove and contains.
+ * Values are appended to a dense array (so iteration follows insertion order)
+ * and located through an open-addressing hash table of positions. Removed
+ * entries leave a tombstone that is squeezed out when the array fills up.
+ * No boxing, two int slots per member. Not thread-safe.
+ */
+public class IntLinkedSet {
+
+    private static final int EMPTY = 0;      // hash slots store position + 1
+    private static final int REMOVED = -1;   // tombstone in the entries array
+
+    private int[] entries;
+    private int head;
+    private int tail;
+    private int size;
+
+    private int[] slots;
+    private int mask;
+
+    public IntLinkedSet() {
+        this(8);
+    }
+
+    public IntLinkedSet(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        this.entries = new int[capacity];
+        this.slots = new int[tableSizeFor(capacity * 2)];
+        this.mask = slots.length - 1;
+    }
+
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        if (findSlot(value) >= 0) {
+            return false;
+        }
+        if (tail == entries.length) {
+            if (size <= entries.length / 2) {
+                compact();
+            } else {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+        }
+        if ((size + 1) * 2 > slots.length) {
+            slots = new int[slots.length * 2];
+            mask = slots.length - 1;
+            rebuildSlots();
+        }
+        int slot = -findSlot(value) - 1;
+        entries[tail] = value;
+        slots[slot] = tail + 1;
+        tail++;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int slot = findSlot(value);
+        if (slot < 0) {
+            return false;
+        }
+        entries[slots[slot] - 1] = REMOVED;
+        size--;
+        deleteSlot(slot);
+        while (head < tail && entries[head] == REMOVED) {
+            head++;
+        }
+        if (size == 0) {
+            head = 0;
+            tail = 0;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        return value >= 0 && findSlot(value) >= 0;
+    }
+
+    /**
+     * @return the first value in insertion order, or -1 if the set is empty
+     */
+    public int peekFirst() {
+        return size == 0 ? -1 : entries[head];
+    }
+
+    /**
+     * Remove and return the oldest member
+     * @return the first value in insertion order, or -1 if the set is empty
+     */
+    public int pollFirst() {
+        if (size == 0) {
+            return -1;
+        }
+        int first = entries[head];
+        remove(first);
+        return first;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        head = 0;
+        tail = 0;
+        size = 0;
+    }
+
+    /**
+     * Copy the members into a new array in insertion order
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = head; i < tail; i++) {
+            if (entries[i] != REMOVED) {
+                result[n++] = entries[i];
+            }
+        }
+        return result;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = head; i < tail; i++) {
+            if (entries[i] != REMOVED) {
+                action.accept(entries[i]);
+            }
+        }
+    }
+
+    // ==================== HASH TABLE ====================
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the slot holding value, or (-insertionSlot - 1) if absent
+     */
+    private int findSlot(int value) {
+        int i = hash(value) & mask;
+        for (;;) {
+            int position = slots[i];
+            if (position == EMPTY) {
+                return -i - 1;
+            }
+            if (entries[position - 1] == value) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    // Backward-shift deletion keeps probe chains intact without slot tombstones
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int i = slot;
+        for (;;) {
+            i = (i + 1) & mask;
+            int position = slots[i];
+            if (position == EMPTY) {
+                break;
+            }
+            int ideal = hash(entries[position - 1]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                slots[gap] = position;
+                gap = i;
+            }
+        }
+        slots[gap] = EMPTY;
+    }
+
+    private void compact() {
+        int n = 0;
+        for (int i = head; i < tail; i++) {
+            if (entries[i] != REMOVED) {
+                entries[n++] = entries[i];
+            }
+        }
+        head = 0;
+        tail = n;
+        rebuildSlots();
+    }
+
+    private void rebuildSlots() {
+        Arrays.fill(slots, EMPTY);
+        for (int i = head; i < tail; i++) {
+            if (entries[i] != REMOVED) {
+                slots[-findSlot(entries[i]) - 1] = i + 1;
+            }
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(size, 8);
+    }
+}
@@ -0,0 +1,179 @@
+package edu.neu.csye7374.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Map from primitive long keys to non-null values, for hot lookups that
+ * should not box a Long per call. Open addressing with linear probing over
+ * parallel key and value arrays; a null value marks a free slot, so every
+ * long, zero included, is a valid key. Removal shifts later entries back
+ * instead of leaving tombstones. Not thread-safe.
+ */
+public class LongMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongMap() {
+        this(16);
+    }
+
+    public LongMap(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(expectedSize, 4) * 2);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return the value for key, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = findSlot(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * @return the previous value for key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null value for key " + key);
+        }
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        insert(-slot - 1, key, value);
+        return null;
+    }
+
+    /**
+     * @return the value for key, first storing the one built by create if
+     *         absent; null, with nothing stored, if create returns null
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> create) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        V value = create.apply(key);
+        if (value == null) {
+            return null;
+        }
+        insert(-slot - 1, key, value);
+        return value;
+    }
+
+    /**
+     * @return the removed value, or null if key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return previous;
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // ==================== HASH TABLE ====================
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return the slot holding key, or (-insertionSlot - 1) if absent
+     */
+    private int findSlot(long key) {
+        int i = hash(key) & mask;
+        for (;;) {
+            if (values[i] == null) {
+                return -i - 1;
+            }
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insert(int slot, long key, Object value) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            slot = -findSlot(key) - 1;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int i = slot;
+        for (;;) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int ideal = hash(keys[i]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = -findSlot(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(size, 8);
+    }
+}
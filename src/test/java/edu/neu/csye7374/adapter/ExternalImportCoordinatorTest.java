@@ -0,0 +1,93 @@
+package edu.neu.csye7374.adapter;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.EventManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalImportCoordinatorTest {
+
+    /**
+     * Source whose import runs the given body
+     */
+    private static ExternalEventAdapter source(String name, Callable<List<EventAPI>> body) {
+        return new ExternalEventAdapter() {
+            @Override
+            public List<EventAPI> importEvents() {
+                try {
+                    return body.call();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage());
+                }
+            }
+
+            @Override
+            public String getSourceName() {
+                return name;
+            }
+
+            @Override
+            public boolean isSourceAvailable() {
+                return true;
+            }
+
+            @Override
+            public String getLastSyncTime() {
+                return "never";
+            }
+
+            @Override
+            public int syncEvents() {
+                return 0;
+            }
+        };
+    }
+
+    private static LectureEvent event(String id) {
+        return new LectureEvent(id, "Imported " + id, "", LocalDate.of(2025, 5, 1), "Hall", 10);
+    }
+
+    @Test
+    void queuedSourcesAreTimedFromWhenTheyStartRunning() {
+        ExternalImportCoordinator coordinator = new ExternalImportCoordinator(1, Duration.ofMillis(300));
+        ExternalImportCoordinator.ImportReport report = coordinator.importAll(List.of(
+                source("slow", () -> {
+                    Thread.sleep(5000);
+                    return List.of(event("eic-slow"));
+                }),
+                // Waits behind "slow" for the whole timeout, then finishes at once
+                source("queued", () -> List.of(event("eic-queued")))
+        ), EventManager.getInstance());
+
+        assertEquals(1, report.getImportedCount());
+        assertEquals(1, (int) report.getEventsBySource().get("queued"));
+        assertTrue(report.getFailures().get("slow").startsWith("timed out"), report.toString());
+        assertEquals(1, report.getFailures().size(), report.toString());
+    }
+
+    @Test
+    void aFailingSourceIsReportedAndTheRestAreAdded() {
+        ExternalImportCoordinator coordinator = new ExternalImportCoordinator(4, Duration.ofSeconds(5));
+        ExternalImportCoordinator.ImportReport report = coordinator.importAll(List.of(
+                source("broken", () -> {
+                    throw new IllegalStateException("feed unavailable");
+                }),
+                source("working", () -> List.of(event("eic-1"), event("eic-2")))
+        ), EventManager.getInstance());
+
+        assertEquals(2, report.getImportedCount());
+        assertEquals("feed unavailable", report.getFailures().get("broken"));
+        assertTrue(EventManager.getInstance().getEvent("eic-2") != null);
+    }
+}
@@ -0,0 +1,50 @@
+package edu.neu.csye7374.bench;
+
+import edu.neu.csye7374.bridge.EmailNotificationSender;
+import edu.neu.csye7374.bridge.NotificationSender;
+import edu.neu.csye7374.bridge.SmsNotificationSender;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a system announcement sent through each sender's bulk path.
+ * Not part of the test run; after mvn test-compile:
+ * java -cp target/classes:target/test-classes edu.neu.csye7374.bench.BulkSendBenchmark [recipients]
+ */
+public class BulkSendBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int recipients = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<User> users = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            users.add(new Student("u" + i, "User " + i, "user" + i + "@campus.edu", "S" + i, "CS", 1));
+        }
+        run("email", new EmailNotificationSender(), users);
+        run("sms", new SmsNotificationSender(), users);
+    }
+
+    private static void run(String name, NotificationSender sender, List<User> users) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sender.sendBulk(users, "Announcement", "Campus closed tomorrow");
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BitSet delivered = sender.sendBulk(users, "Announcement", "Campus closed tomorrow");
+            best = Math.min(best, System.nanoTime() - start);
+            if (delivered.cardinality() != users.size()) {
+                throw new IllegalStateException(name + " delivered " + delivered.cardinality() + "/" + users.size());
+            }
+        }
+        System.out.println(name + ": " + users.size() + " recipients, best of " + MEASURED_ROUNDS + ": "
+                + TimeUnit.NANOSECONDS.toMillis(best) + " ms");
+    }
+}
@@ -0,0 +1,61 @@
+package edu.neu.csye7374.bench;
+
+import edu.neu.csye7374.logging.AsyncAppender;
+import edu.neu.csye7374.logging.LogLevel;
+import edu.neu.csye7374.logging.LogManager;
+import edu.neu.csye7374.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times disabled DEBUG calls at the default INFO level, then pushes INFO
+ * lines from several threads through the async appender into a counting
+ * target. Not part of the test run; after mvn test-compile:
+ * java -cp target/classes:target/test-classes edu.neu.csye7374.bench.LoggingBenchmark
+ */
+public class LoggingBenchmark {
+
+    private static final int DISABLED_CALLS = 10_000_000;
+    private static final int THREADS = 8;
+    private static final int LINES_PER_THREAD = 50_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        LogManager.setLevel(LogLevel.INFO);
+        Logger log = LogManager.getLogger(LoggingBenchmark.class);
+        String userId = "bench-user";
+
+        for (int round = 1; round <= 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < DISABLED_CALLS; i++) {
+                log.debug("User {} registered for event {}", userId, i);
+            }
+            System.out.println("Round " + round + ": " + DISABLED_CALLS + " disabled debug calls in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        }
+
+        LongAdder written = new LongAdder();
+        AsyncAppender async = new AsyncAppender((timestamp, level, logger, thread, message, error) -> written.increment());
+        LogManager.setAppender(async);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < LINES_PER_THREAD; i++) {
+                    log.info("Line {}", i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        async.flush();
+        System.out.println(written.sum() + "/" + (THREADS * LINES_PER_THREAD) + " async lines written in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        async.close();
+    }
+}
@@ -0,0 +1,58 @@
+package edu.neu.csye7374.bench;
+
+import edu.neu.csye7374.bridge.RateLimitedSender;
+import edu.neu.csye7374.bridge.SimulatedGatewaySender;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a RateLimitedSender against the simulated gateway: 16 threads sending
+ * one message at a time while one bulk send runs alongside them.
+ * Not part of the test run; after mvn test-compile:
+ * java -cp target/classes:target/test-classes edu.neu.csye7374.bench.RateLimiterBenchmark
+ */
+public class RateLimiterBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int SENDS_PER_THREAD = 500;
+    private static final int BULK_RECIPIENTS = 4000;
+
+    public static void main(String[] args) throws InterruptedException {
+        SimulatedGatewaySender gateway = new SimulatedGatewaySender(5, 2000);
+        RateLimitedSender limiter = new RateLimitedSender(gateway, 5000, 1000, 8);
+        User user = new Student("bench", "Bench", "bench@campus.edu", "B", "CS", 1);
+        List<User> bulk = new ArrayList<>(BULK_RECIPIENTS);
+        for (int i = 0; i < BULK_RECIPIENTS; i++) {
+            bulk.add(new Student("b" + i, "User " + i, "user" + i + "@campus.edu", "S" + i, "CS", 1));
+        }
+
+        LongAdder delivered = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < SENDS_PER_THREAD; i++) {
+                    if (limiter.sendToUser(user, "Reminder", "Starts soon")) {
+                        delivered.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        delivered.add(limiter.sendBulk(bulk, "Announcement", "Campus closed").cardinality());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int expected = THREADS * SENDS_PER_THREAD + BULK_RECIPIENTS;
+        System.out.println("delivered " + delivered.sum() + "/" + expected + " in " + elapsed + " ms; "
+                + "gateway refused " + gateway.getRefusedCount() + "; " + limiter);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.ContactBatch;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.RecipientCursor;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventNotificationServiceTest {
+
+    /**
+     * Records the contacts it is handed instead of delivering
+     */
+    private static final class RecordingSender implements NotificationSender {
+        final List<String> contacts = new ArrayList<>();
+
+        @Override
+        public boolean sendToUser(User user, String subject, String body) {
+            contacts.add(user.getEmail());
+            return true;
+        }
+
+        @Override
+        public boolean sendToUsers(List<User> users, String subject, String body) {
+            return sendBulk(users, subject, body).cardinality() == users.size();
+        }
+
+        @Override
+        public BitSet sendToContacts(ContactBatch contacts, String subject, String body) {
+            BitSet delivered = new BitSet(contacts.size());
+            for (int i = 0; i < contacts.size(); i++) {
+                this.contacts.add(contacts.getEmail(i));
+                delivered.set(i);
+            }
+            return delivered;
+        }
+    }
+
+    @Test
+    void participantsComeFromTheInjectedSource() {
+        EventManager manager = EventManager.getInstance();
+        LectureEvent event = new LectureEvent("ens-1", "Injected", "", LocalDate.of(2025, 3, 1), "Hall", 10);
+        manager.addEvent(event);
+        for (int i = 0; i < 3; i++) {
+            manager.registerUser(new Student("ens-s" + i, "Student " + i, "s" + i + "@campus.edu", "S" + i, "CS", 1));
+            manager.registerUserForEvent("ens-s" + i, "ens-1");
+        }
+
+        List<String> asked = new ArrayList<>();
+        Function<String, RecipientCursor> source = eventId -> {
+            asked.add(eventId);
+            return manager.recipients(eventId);
+        };
+        RecordingSender sender = new RecordingSender();
+
+        assertTrue(new EventNotificationService(sender, source).notifyEventParticipants(event, "s", "b"));
+        assertEquals(List.of("ens-1"), asked);
+        assertEquals(List.of("s0@campus.edu", "s1@campus.edu", "s2@campus.edu"), sender.contacts);
+    }
+
+    @Test
+    void sendersStillReachAnEventsParticipantsDirectly() {
+        EventManager manager = EventManager.getInstance();
+        LectureEvent event = new LectureEvent("ens-3", "Direct", "", LocalDate.of(2025, 3, 3), "Hall", 10);
+        manager.addEvent(event);
+        manager.registerUser(new Student("ens-s8", "Student 8", "s8@campus.edu", "S8", "CS", 1));
+        manager.registerUserForEvent("ens-s8", "ens-3");
+        RecordingSender sender = new RecordingSender();
+
+        assertTrue(sender.sendToEventParticipants(event, "s", "b"));
+        assertEquals(List.of("s8@campus.edu"), sender.contacts);
+    }
+
+    @Test
+    void aSourceWithNoRecipientsSendsNothing() {
+        EventManager manager = EventManager.getInstance();
+        LectureEvent event = new LectureEvent("ens-2", "Elsewhere", "", LocalDate.of(2025, 3, 2), "Hall", 10);
+        manager.addEvent(event);
+        manager.registerUser(new Student("ens-s9", "Student 9", "s9@campus.edu", "S9", "CS", 1));
+        manager.registerUserForEvent("ens-s9", "ens-2");
+        RecordingSender sender = new RecordingSender();
+
+        // The global manager knows a participant, but this service only sees its own source
+        assertTrue(new EventNotificationService(sender, eventId -> manager.recipients("no-such-event"))
+                .notifyEventParticipants(event, "s", "b"));
+        assertTrue(sender.contacts.isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class NotificationDispatcherTest {
+
+    private static final User USER = new Student("d-1", "Dee", "dee@campus.edu", "D1", "CS", 1);
+
+    /** Counts sends without printing */
+    private static final NotificationSender QUIET = new NotificationSender() {
+        @Override
+        public boolean sendToUser(User user, String subject, String body) {
+            return true;
+        }
+
+        @Override
+        public boolean sendToUsers(List<User> users, String subject, String body) {
+            return true;
+        }
+    };
+
+    @Test
+    void queuedNotificationsAreDeliveredBeforeCloseReturns() throws Exception {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(64, 2, 16);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            results.add(dispatcher.submit(QUIET, USER, "s", "b" + (i % 3)));
+        }
+        dispatcher.close();
+
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.getNow(false));
+        }
+        assertEquals(500, dispatcher.getDeliveredCount());
+        ExecutionException closed = assertThrows(ExecutionException.class,
+                () -> dispatcher.submit(QUIET, USER, "s", "b").get());
+        assertTrue(closed.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void everySubmitRacingCloseStillCompletes() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            NotificationDispatcher dispatcher = new NotificationDispatcher(8, 1, 4);
+            int producers = 4;
+            List<List<CompletableFuture<Boolean>>> results = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                List<CompletableFuture<Boolean>> mine = new ArrayList<>();
+                results.add(mine);
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 200; i++) {
+                        mine.add(dispatcher.submit(QUIET, USER, "s", "b"));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            started.await();
+            dispatcher.close();
+            for (Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+                assertTrue(!thread.isAlive(), "producer blocked after close in round " + round);
+            }
+            for (List<CompletableFuture<Boolean>> mine : results) {
+                for (CompletableFuture<Boolean> result : mine) {
+                    try {
+                        result.get(5, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        // Rejected because the dispatcher closed: completed all the same
+                    } catch (TimeoutException e) {
+                        fail("A notification submitted around close() never completed in round " + round);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationSenderTest {
+
+    private static final List<User> RECIPIENTS = List.of(
+            student("n-1", "one@campus.edu"),
+            student("n-2", "no-at-sign"),
+            student("n-3", null),
+            student("n-4", "@campus.edu"),
+            student("n-5", "five@campus.edu"));
+
+    private static Student student(String id, String email) {
+        return new Student(id, "Student " + id, email, id, "CS", 1);
+    }
+
+    @Test
+    void emailBulkSendsSkipRecipientsWithoutAUsableAddress() {
+        assertSingleSendsAlwaysDeliver(new EmailNotificationSender());
+        BitSet delivered = new EmailNotificationSender().sendBulk(RECIPIENTS, "s", "b");
+        assertEquals(2, delivered.cardinality());
+        assertTrue(delivered.get(0) && delivered.get(4));
+    }
+
+    @Test
+    void smsBulkSendsSkipRecipientsWithoutAPhone() {
+        assertSingleSendsAlwaysDeliver(new SmsNotificationSender());
+        BitSet delivered = new SmsNotificationSender().sendBulk(RECIPIENTS, "s", "b");
+        assertEquals(4, delivered.cardinality());
+        assertFalse(delivered.get(2));
+    }
+
+    @Test
+    void bulkSendsSpanSessionsAndReportEveryRecipient() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            users.add(student("bulk-" + i, i % 1000 == 999 ? null : "user" + i + "@campus.edu"));
+        }
+        BitSet delivered = new EmailNotificationSender().sendBulk(users, "s", "b");
+
+        assertEquals(2498, delivered.cardinality());
+        assertFalse(delivered.get(999));
+        assertFalse(delivered.get(1999));
+        assertFalse(new EmailNotificationSender().sendToUsers(users, "s", "b"));
+    }
+
+    // Single sends keep their original contract: the simulated delivery always succeeds
+    private static void assertSingleSendsAlwaysDeliver(NotificationSender sender) {
+        for (User user : RECIPIENTS) {
+            assertTrue(sender.sendToUser(user, "Subject", "Body"), String.valueOf(user.getEmail()));
+        }
+    }
+}
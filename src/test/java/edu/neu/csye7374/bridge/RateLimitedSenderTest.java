@@ -0,0 +1,143 @@
+package edu.neu.csye7374.bridge;
+
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitedSenderTest {
+
+    private static final User USER = new Student("r-1", "Rae", "rae@campus.edu", "R1", "CS", 1);
+
+    /**
+     * Refuses its first sends as throttled, then accepts; tracks the most sends seen at once
+     */
+    private static final class ScriptedSender implements NotificationSender {
+        final AtomicInteger refusals;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final long latencyMillis;
+
+        ScriptedSender(int refusals, long latencyMillis) {
+            this.refusals = new AtomicInteger(refusals);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public boolean sendToUser(User user, String subject, String body) {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                if (refusals.getAndDecrement() > 0) {
+                    throw new SenderThrottledException("429", 1);
+                }
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean sendToUsers(List<User> users, String subject, String body) {
+            return sendBulk(users, subject, body).cardinality() == users.size();
+        }
+    }
+
+    @Test
+    void sendsBeyondTheBurstAreSpreadOverTheRate() {
+        RateLimitedSender limiter = new RateLimitedSender(new ScriptedSender(0, 0), 100, 10, 4);
+        long start = System.nanoTime();
+        for (int i = 0; i < 60; i++) {
+            assertTrue(limiter.sendToUser(USER, "s", "b"));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 10 go out at once, the other 50 at 100 per second
+        assertTrue(elapsedMillis >= 450, "took only " + elapsedMillis + "ms");
+        assertEquals(60, limiter.getSentCount());
+        assertTrue(limiter.getThrottledCount() > 0);
+    }
+
+    @Test
+    void pushBackHalvesTheRateAndIsRetried() {
+        RateLimitedSender limiter = new RateLimitedSender(new ScriptedSender(2, 0), 1000, 10, 1);
+
+        assertTrue(limiter.sendToUser(USER, "s", "b"));
+        assertEquals(2, limiter.getRejectedCount());
+        // Halved twice, then one success wins back 2% of the configured rate
+        assertEquals(270, limiter.getCurrentRate(), 0.001);
+    }
+
+    @Test
+    void persistentPushBackGivesUpAfterTheRetries() {
+        RateLimitedSender limiter = new RateLimitedSender(new ScriptedSender(Integer.MAX_VALUE, 0), 1000, 10, 1);
+
+        assertFalse(limiter.sendToUser(USER, "s", "b"));
+        assertEquals(4, limiter.getRejectedCount());
+        // Halved on each of the four attempts
+        assertEquals(62.5, limiter.getCurrentRate(), 0.001);
+    }
+
+    @Test
+    void anInterruptedWaitGivesUpInsteadOfSpinning() throws InterruptedException {
+        ScriptedSender gateway = new ScriptedSender(0, 0);
+        RateLimitedSender limiter = new RateLimitedSender(gateway, 1, 1, 1);
+        assertTrue(limiter.sendToUser(USER, "s", "b"));
+
+        boolean[] outcome = new boolean[2];
+        long[] waitedNanos = new long[1];
+        Thread caller = new Thread(() -> {
+            long start = System.nanoTime();
+            // The next token is a second away
+            outcome[0] = limiter.sendToUser(USER, "s", "b");
+            waitedNanos[0] = System.nanoTime() - start;
+            outcome[1] = Thread.currentThread().isInterrupted();
+        });
+        caller.start();
+        Thread.sleep(100);
+        caller.interrupt();
+        caller.join();
+
+        assertFalse(outcome[0]);
+        assertTrue(outcome[1]);
+        assertTrue(waitedNanos[0] < TimeUnit.MILLISECONDS.toNanos(800), waitedNanos[0] + "ns");
+        assertEquals(1, limiter.getSentCount());
+        assertEquals(1, limiter.getFailedCount());
+    }
+
+    @Test
+    void concurrentSendsStayWithinTheLimit() throws InterruptedException {
+        ScriptedSender gateway = new ScriptedSender(0, 5);
+        RateLimitedSender limiter = new RateLimitedSender(gateway, 10_000, 100, 2);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    limiter.sendToUser(USER, "s", "b");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80, limiter.getSentCount());
+        assertTrue(gateway.maxInFlight.get() <= 2, "saw " + gateway.maxInFlight.get() + " at once");
+    }
+}
@@ -0,0 +1,110 @@
+package edu.neu.csye7374.facade;
+
+import edu.neu.csye7374.bridge.EmailNotificationSender;
+import edu.neu.csye7374.bridge.NotificationSender;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs with durability enabled, so every notification goes through the outbox.
+ * Kept apart from the other facade tests, which expect direct delivery.
+ */
+class CampusEventSystemFacadeOutboxTest {
+
+    @TempDir
+    static Path dataDirectory;
+
+    private static CampusEventSystemFacade facade;
+    private static String eventId;
+
+    @BeforeAll
+    static void setUp() throws InterruptedException {
+        facade = CampusEventSystemFacade.getInstance();
+        assertTrue(facade.enableDurability(dataDirectory.toString()));
+        facade.registerOrganizer("out-org", "Otto Organizer", "otto@campus.edu", "CS", "Coordinator");
+        facade.registerStudent("out-s1", "Ona One", "ona1@campus.edu", "O001", "CS", 2);
+        facade.registerStudent("out-s2", "Ona Two", "ona2@campus.edu", "O002", "CS", 3);
+        facade.registerStudent("out-s3", "Ona Three", "ona3@campus.edu", "O003", "CS", 1);
+        eventId = facade.createEvent("out-org", "lecture", "Outbox", "Intents",
+                LocalDate.now().plusDays(3), "Hall O", 1, null);
+        assertNotNull(eventId);
+        assertTrue(facade.registerForEvent("out-s1", eventId));
+        awaitOutboxDrained();
+    }
+
+    @Test
+    void refusedRegistrationLeavesNoPendingConfirmation() throws InterruptedException {
+        awaitOutboxDrained();
+        // Sold out: out-s2 is waitlisted, not registered
+        assertFalse(facade.registerForEvent("out-s2", eventId));
+        assertEquals(0, facade.getPendingNotificationCount());
+    }
+
+    @Test
+    void failedCancellationLeavesNoPendingNotice() throws InterruptedException {
+        awaitOutboxDrained();
+        // out-s3 never registered, so there is nothing to cancel or announce
+        assertFalse(facade.cancelEventRegistration("out-s3", eventId));
+        assertEquals(0, facade.getPendingNotificationCount());
+        // Nor for an event that does not exist
+        assertFalse(facade.cancelEventRegistration("out-s3", "no-such-event"));
+        assertEquals(0, facade.getPendingNotificationCount());
+    }
+
+    @Test
+    void promotedUserIsSentARegistrationConfirmation() throws InterruptedException {
+        awaitOutboxDrained();
+        facade.registerStudent("out-p1", "Pia One", "pia1@campus.edu", "P001", "CS", 2);
+        facade.registerStudent("out-p2", "Pia Two", "pia2@campus.edu", "P002", "CS", 2);
+        String promotionEvent = facade.createEvent("out-org", "lecture", "Promotion", "Waitlist",
+                LocalDate.now().plusDays(4), "Hall P", 1, null);
+        assertTrue(facade.registerForEvent("out-p1", promotionEvent));
+        assertFalse(facade.registerForEvent("out-p2", promotionEvent));
+        awaitOutboxDrained();
+
+        List<String> recipients = new CopyOnWriteArrayList<>();
+        facade.setNotificationSender(new NotificationSender() {
+            @Override
+            public boolean sendToUser(User user, String subject, String body) {
+                recipients.add(user.getId());
+                return true;
+            }
+
+            @Override
+            public boolean sendToUsers(List<User> users, String subject, String body) {
+                return sendBulk(users, subject, body).cardinality() == users.size();
+            }
+        });
+        try {
+            assertTrue(facade.cancelEventRegistration("out-p1", promotionEvent));
+            awaitOutboxDrained();
+        } finally {
+            facade.setNotificationSender(new EmailNotificationSender());
+        }
+
+        assertTrue(EventManager.getInstance().isUserRegistered("out-p2", promotionEvent));
+        assertTrue(recipients.contains("out-p1"), recipients.toString());
+        assertTrue(recipients.contains("out-p2"), recipients.toString());
+    }
+
+    private static void awaitOutboxDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (facade.getPendingNotificationCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, facade.getPendingNotificationCount());
+    }
+}
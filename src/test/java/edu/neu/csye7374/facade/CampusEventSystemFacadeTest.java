@@ -0,0 +1,95 @@
+package edu.neu.csye7374.facade;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.user.Student;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CampusEventSystemFacadeTest {
+
+    private static CampusEventSystemFacade facade;
+    private static EventManager manager;
+
+    @BeforeAll
+    static void setUp() {
+        facade = CampusEventSystemFacade.getInstance();
+        manager = EventManager.getInstance();
+        facade.registerOrganizer("org", "Olive Organizer", "olive@campus.edu", "CS", "Coordinator");
+        facade.registerStudent("s1", "Sam One", "sam1@campus.edu", "S001", "CS", 2);
+        facade.registerStudent("s2", "Sam Two", "sam2@campus.edu", "S002", "CS", 3);
+    }
+
+    @Test
+    void cancellingFreesTheSeatAndPromotesTheWaitlist() {
+        String eventId = facade.createEvent("org", "lecture", "Compilers", "Parsing",
+                LocalDate.now().plusDays(7), "Hall A", 1, null);
+        assertNotNull(eventId);
+
+        assertTrue(facade.registerForEvent("s1", eventId));
+        // Sold out: s2 goes to the waitlist
+        assertFalse(facade.registerForEvent("s2", eventId));
+
+        assertTrue(facade.cancelEventRegistration("s1", eventId));
+
+        assertFalse(manager.isUserRegistered("s1", eventId));
+        assertFalse(((Student) manager.getUser("s1")).getRegisteredEvents().contains(eventId));
+        assertTrue(manager.isUserRegistered("s2", eventId));
+        assertTrue(((Student) manager.getUser("s2")).getRegisteredEvents().contains(eventId));
+        assertEquals(1, manager.getParticipantCount(eventId));
+
+        // Nothing left to cancel for s1
+        assertFalse(facade.cancelEventRegistration("s1", eventId));
+    }
+
+    @Test
+    void sortedEventsComeFromTheOrderedIndexes() {
+        LocalDate today = LocalDate.now();
+        manager.addEvent(new LectureEvent("sort-1", "Beta", "", today.plusDays(1), "Hall", 10));
+        manager.addEvent(new LectureEvent("sort-2", "Alpha", "", today.plusDays(3), "Hall", 10));
+        manager.addEvent(new LectureEvent("sort-3", "Gamma", "", today.plusDays(2), "Hall", 10));
+
+        List<String> byDate = sortIds(facade.getSortedEvents("date"));
+        List<String> byTitle = sortIds(facade.getSortedEvents("title"));
+
+        // Newest first, and title Z to A, as the sort strategies order them
+        assertEquals(List.of("sort-2", "sort-3", "sort-1"), byDate);
+        assertEquals(List.of("sort-3", "sort-1", "sort-2"), byTitle);
+        assertEquals(byDate, sortIds(facade.getSortedEvents("unknown")));
+    }
+
+    @Test
+    void archivedEventsLeaveTheLiveSystemAndStaySearchable(@TempDir Path archiveDirectory) {
+        assertTrue(facade.enableArchive(archiveDirectory.toString()));
+        manager.addEvent(new LectureEvent("arch-1", "Old", "", LocalDate.of(2020, 3, 1), "Hall", 10));
+        manager.addEvent(new LectureEvent("arch-2", "Older", "", LocalDate.of(2020, 1, 1), "Hall", 10));
+
+        assertEquals(2, facade.archiveEventsBefore(LocalDate.of(2021, 1, 1)));
+
+        assertNull(manager.getEvent("arch-1"));
+        assertTrue(facade.searchEventsByDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31)).isEmpty());
+        // Archived newest first, as the live date index returned them
+        List<String> archived = facade.searchArchivedEventsByDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31))
+                .stream().map(EventAPI::getId).collect(Collectors.toList());
+        assertEquals(List.of("arch-1", "arch-2"), archived);
+    }
+
+    private static List<String> sortIds(List<EventAPI> events) {
+        return events.stream().map(EventAPI::getId).filter(id -> id.startsWith("sort-"))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,86 @@
+package edu.neu.csye7374.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncAppenderTest {
+
+    private static final int THREADS = 8;
+    private static final int LINES_PER_THREAD = 50_000;
+
+    @Test
+    void everyLineArrivesInItsThreadsOrder() throws InterruptedException {
+        ConcurrentLinkedQueue<String> written = new ConcurrentLinkedQueue<>();
+        // A small ring makes producers lap the writer and wait for free slots
+        AsyncAppender async = new AsyncAppender(
+                (timestamp, level, logger, thread, message, error) -> written.add(message), 64);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int producer = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < LINES_PER_THREAD; i++) {
+                    async.append(0L, LogLevel.INFO, "async-test", "t" + producer, producer + ":" + i, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        async.flush();
+
+        assertEquals(THREADS * LINES_PER_THREAD, written.size());
+        int[] next = new int[THREADS];
+        for (String line : written) {
+            int colon = line.indexOf(':');
+            int producer = Integer.parseInt(line.substring(0, colon));
+            assertEquals(next[producer]++, Integer.parseInt(line.substring(colon + 1)), line);
+        }
+        async.close();
+    }
+
+    @Test
+    void noLineIsLostWhenCloseRacesWithProducers() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            ConcurrentLinkedQueue<String> written = new ConcurrentLinkedQueue<>();
+            AsyncAppender async = new AsyncAppender(
+                    (timestamp, level, logger, thread, message, error) -> written.add(message), 16);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        async.append(0L, LogLevel.INFO, "async-test", "producer", "line", null);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            Thread.sleep(1);
+            async.close();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(4 * 2_000, written.size(), "round " + round);
+        }
+    }
+
+    @Test
+    void linesAppendedAfterCloseGoStraightToTheTarget() {
+        List<String> written = new ArrayList<>();
+        AsyncAppender async = new AsyncAppender(
+                (timestamp, level, logger, thread, message, error) -> written.add(message), 4);
+        async.append(0L, LogLevel.INFO, "async-test", "main", "before", null);
+        async.close();
+        async.append(0L, LogLevel.INFO, "async-test", "main", "after", null);
+
+        assertEquals(List.of("before", "after"), written);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.neu.csye7374.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggerTest {
+
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    private LogAppender previousAppender;
+    private LogLevel previousLevel;
+
+    @BeforeEach
+    void capture() {
+        previousAppender = LogManager.getAppender();
+        previousLevel = LogManager.getLevel();
+        LogManager.setAppender((timestamp, level, logger, thread, message, error) -> lines.add(level + " " + message));
+    }
+
+    @AfterEach
+    void restore() {
+        LogManager.setAppender(previousAppender);
+        LogManager.setLevel(previousLevel);
+    }
+
+    @Test
+    void disabledLevelsAreNeitherFormattedNorWritten() {
+        LogManager.setLevel(LogLevel.INFO);
+        Logger log = LogManager.getLogger("logger-test");
+        boolean[] built = {false};
+        Object noisy = new Object() {
+            @Override
+            public String toString() {
+                built[0] = true;
+                return "noisy";
+            }
+        };
+
+        log.debug("value {}", noisy);
+        log.debug(() -> {
+            built[0] = true;
+            return "supplied";
+        });
+        log.info("kept {} of {}", 1, 2);
+
+        assertFalse(built[0]);
+        assertFalse(log.isDebugEnabled());
+        assertEquals(List.of("INFO kept 1 of 2"), lines);
+    }
+
+    @Test
+    void everyLevelHasTheSameLazyOverloads() {
+        LogManager.setLevel(LogLevel.TRACE);
+        Logger log = LogManager.getLogger("logger-test");
+        log.trace("t {}", 1);
+        log.debug("d {} {} {}", 1, 2, 3);
+        log.warn(() -> "w");
+        log.error("e {} {}", 1, 2);
+        assertTrue(log.isTraceEnabled());
+        assertEquals(List.of("TRACE t 1", "DEBUG d 1 2 3", "WARN w", "ERROR e 1 2"), lines);
+
+        lines.clear();
+        LogManager.setLevel(LogLevel.ERROR);
+        boolean[] built = {false};
+        log.warn(() -> {
+            built[0] = true;
+            return "skipped";
+        }, new IllegalStateException());
+        log.error(() -> "kept", new IllegalStateException());
+        assertFalse(built[0]);
+        assertEquals(List.of("ERROR kept"), lines);
+    }
+
+    @Test
+    void offSilencesEverything() {
+        LogManager.setLevel(LogLevel.OFF);
+        Logger log = LogManager.getLogger("logger-test");
+        log.error("dropped");
+        assertFalse(log.isEnabled(LogLevel.OFF));
+        assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    void placeholdersAreFilledInOrder() {
+        assertEquals("a 1 b 2 c {}", Logger.format("a {} b {} c {}", new Object[] {1, 2}));
+        assertEquals("no placeholders", Logger.format("no placeholders", new Object[] {1}));
+        assertEquals("null", Logger.format("{}", new Object[] {null}));
+    }
+}
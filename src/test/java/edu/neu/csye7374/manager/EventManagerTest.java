@@ -0,0 +1,166 @@
+package edu.neu.csye7374.manager;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventManagerTest {
+
+    private static EventManager manager;
+
+    @BeforeAll
+    static void setUp() {
+        manager = EventManager.getInstance();
+        for (int i = 0; i < 5; i++) {
+            manager.addEvent(new LectureEvent("page-" + i, "Lecture " + i, "", LocalDate.of(2026, 1, 1 + i), "Hall", 10));
+        }
+    }
+
+    @Test
+    void pagesWalkTheOrderWithoutOverlap() {
+        List<EventAPI> first = manager.page(EventOrder.DATE, null, 2);
+        List<EventAPI> second = manager.page(EventOrder.DATE, first.get(1), 2);
+        List<EventAPI> last = manager.page(EventOrder.DATE, second.get(1), 2);
+
+        assertEquals(List.of("page-4", "page-3"), List.of(first.get(0).getId(), first.get(1).getId()));
+        assertEquals(List.of("page-2", "page-1"), List.of(second.get(0).getId(), second.get(1).getId()));
+        assertEquals("page-0", last.get(0).getId());
+    }
+
+    @Test
+    void zeroLimitGivesAnEmptyPageAndNegativeLimitIsRejected() {
+        assertTrue(manager.page(EventOrder.TITLE, null, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> manager.page(EventOrder.DATE, null, -1));
+        assertThrows(IllegalArgumentException.class, () -> manager.eventsSortedByDate(-1));
+        assertThrows(IllegalArgumentException.class, () -> manager.eventsSortedByTitle(-5));
+    }
+
+    @Test
+    void failedLogAppendsLeaveRegistrationsUnchanged() {
+        manager.addEvent(new LectureEvent("wal-1", "Logged", "", LocalDate.of(2025, 2, 1), "Hall", 1));
+        Student first = new Student("wal-s1", "First", "first@example.edu", "S1", "CS", 1);
+        Student second = new Student("wal-s2", "Second", "second@example.edu", "S2", "CS", 1);
+        manager.registerUser(first);
+        manager.registerUser(second);
+        manager.registerUserForEvent("wal-s1", "wal-1");
+        manager.registerUserForEvent("wal-s2", "wal-1");
+
+        FailingLog log = new FailingLog();
+        manager.attachStateLog(log);
+        try {
+            assertThrows(UncheckedIOException.class, () -> manager.cancelUserRegistration("wal-s1", "wal-1"));
+            assertThrows(UncheckedIOException.class, () -> manager.cancelUserRegistration("wal-s2", "wal-1"));
+        } finally {
+            manager.attachStateLog(null);
+        }
+
+        assertEquals(List.of("wal-s1"), ids(manager.getEventParticipants("wal-1")));
+        assertEquals(List.of("wal-s2"), ids(manager.getEventWaitlist("wal-1")));
+        assertEquals(List.of("wal-1"), first.getRegisteredEvents());
+        assertEquals(0, manager.getAvailableSeats("wal-1"));
+        assertEquals(2, log.attempts);
+    }
+
+    @Test
+    void failedPromotionAppendKeepsTheSeatFree() {
+        manager.addEvent(new LectureEvent("wal-2", "Promoted", "", LocalDate.of(2025, 2, 2), "Hall", 1));
+        manager.registerUser(new Student("wal-s3", "Third", "third@example.edu", "S3", "CS", 1));
+        Student waiting = new Student("wal-s4", "Fourth", "fourth@example.edu", "S4", "CS", 1);
+        manager.registerUser(waiting);
+        manager.registerUserForEvent("wal-s3", "wal-2");
+        manager.registerUserForEvent("wal-s4", "wal-2");
+
+        // The cancellation is logged, the promotion it causes is not
+        FailingLog log = new FailingLog();
+        log.failAfter = 1;
+        manager.attachStateLog(log);
+        try {
+            assertThrows(UncheckedIOException.class, () -> manager.cancelUserRegistration("wal-s3", "wal-2"));
+        } finally {
+            manager.attachStateLog(null);
+        }
+
+        assertTrue(manager.getEventParticipants("wal-2").isEmpty());
+        assertEquals(List.of("wal-s4"), ids(manager.getEventWaitlist("wal-2")));
+        assertFalse(waiting.getRegisteredEvents().contains("wal-2"));
+        assertEquals(1, manager.getAvailableSeats("wal-2"));
+    }
+
+    @Test
+    void promotionListenersHearWhoTookTheFreedSeat() {
+        manager.addEvent(new LectureEvent("promo-1", "Promoted", "", LocalDate.of(2025, 3, 3), "Hall", 1));
+        manager.registerUser(new Student("promo-s1", "First", "first@example.edu", "P1", "CS", 1));
+        manager.registerUser(new Student("promo-s2", "Second", "second@example.edu", "P2", "CS", 1));
+        manager.registerUserForEvent("promo-s1", "promo-1");
+        manager.registerUserForEvent("promo-s2", "promo-1");
+
+        List<String> heard = new ArrayList<>();
+        PromotionListener listener = (userId, eventId) -> heard.add(userId + "@" + eventId);
+        manager.addPromotionListener(listener);
+        try {
+            manager.cancelUserRegistration("promo-s1", "promo-1");
+        } finally {
+            manager.removePromotionListener(listener);
+        }
+
+        assertEquals(List.of("promo-s2@promo-1"), heard);
+    }
+
+    private static List<String> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    /** Accepts the first failAfter registration changes, then fails like a broken disk */
+    private static final class FailingLog implements EventStateLog {
+        int failAfter;
+        int attempts;
+        private long lsn;
+
+        @Override
+        public long eventAdded(EventAPI event) {
+            return ++lsn;
+        }
+
+        @Override
+        public long eventRemoved(String eventId) {
+            return ++lsn;
+        }
+
+        @Override
+        public long userRegistered(User user) {
+            return ++lsn;
+        }
+
+        @Override
+        public long registrationChanged(RegistrationChange change, String userId, String eventId) {
+            if (attempts++ >= failAfter) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            return ++lsn;
+        }
+
+        @Override
+        public long appendedLsn() {
+            return lsn;
+        }
+
+        @Override
+        public void awaitDurable(long lsn) {
+        }
+    }
+}
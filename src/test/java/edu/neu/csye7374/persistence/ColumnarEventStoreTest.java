@@ -0,0 +1,77 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.event.SeminarEvent;
+import edu.neu.csye7374.event.WorkshopEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarEventStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static final List<EventAPI> EVENTS = List.of(
+            new LectureEvent("col-1", "Compilers", "Parsing", LocalDate.of(2024, 1, 10), "Hall A", 100),
+            new SeminarEvent("col-2", "Ethics", null, LocalDate.of(2024, 2, 20), "Room 5", 20),
+            new WorkshopEvent("col-3", "Soldering été", "Hands-on", LocalDate.of(2024, 3, 30), "Lab", 12));
+
+    @Test
+    void rowsSurviveReopeningTheStore() throws IOException {
+        try (ColumnarEventStore store = new ColumnarEventStore(directory)) {
+            assertEquals(3, store.appendAll(EVENTS));
+        }
+
+        try (ColumnarEventStore store = new ColumnarEventStore(directory)) {
+            assertEquals(3, store.size());
+            for (int row = 0; row < EVENTS.size(); row++) {
+                EventAPI expected = EVENTS.get(row);
+                EventAPI view = store.view(row);
+                assertEquals(expected.getId(), view.getId());
+                assertEquals(expected.getTitle(), view.getTitle());
+                assertEquals(expected.getDescription(), view.getDescription());
+                assertEquals(expected.getDate(), view.getDate());
+                assertEquals(expected.getLocation(), view.getLocation());
+                assertEquals(expected.getCapacity(), view.getCapacity());
+                assertEquals(expected.getClass(), store.load(row).getClass());
+                assertEquals(expected.getDetails(), view.getDetails());
+            }
+            assertNull(store.view(1).getDescription());
+        }
+    }
+
+    @Test
+    void scansMatchDateAndCapacityRanges() throws IOException {
+        try (ColumnarEventStore store = new ColumnarEventStore(directory)) {
+            store.appendAll(EVENTS);
+
+            assertArrayEquals(new int[] {1, 2}, store.rowsInDateRange(LocalDate.of(2024, 2, 1), null));
+            assertArrayEquals(new int[] {0}, store.rowsInDateRange(null, LocalDate.of(2024, 1, 10)));
+            assertEquals(2, store.countInDateRange(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 20)));
+            assertArrayEquals(new int[] {1, 2}, store.rowsWithCapacity(10, 50));
+        }
+    }
+
+    @Test
+    void smallStoresKeepSmallFiles() throws IOException {
+        try (ColumnarEventStore store = new ColumnarEventStore(directory)) {
+            store.appendAll(EVENTS);
+        }
+        // Each column maps one chunk, not tens of megabytes
+        for (String column : new String[] {"type.col", "day.col", "capacity.col", "text.off", "text.dat"}) {
+            assertTrue(Files.size(directory.resolve(column)) <= 1 << 20, column);
+        }
+    }
+}
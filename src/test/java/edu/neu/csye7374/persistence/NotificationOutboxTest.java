@@ -0,0 +1,55 @@
+package edu.neu.csye7374.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void retriesAreRefusedAndDroppedKeysCanBeEnqueuedAgain() throws IOException {
+        try (NotificationOutbox outbox = NotificationOutbox.open(directory.resolve("outbox.log"))) {
+            long first = outbox.enqueue("u", "e", "confirmed");
+            assertTrue(first > 0);
+            assertEquals(-1, outbox.enqueue("u", "e", "confirmed"));
+
+            outbox.markDropped(first);
+            assertTrue(outbox.enqueue("u", "e", "confirmed") > first);
+        }
+    }
+
+    @Test
+    void onlyTheMostRecentResolvedPairsAreRemembered() throws IOException {
+        Path file = directory.resolve("outbox.log");
+        try (NotificationOutbox outbox = NotificationOutbox.open(file, 10)) {
+            // Still pending, so never forgotten however many pairs follow
+            long held = outbox.enqueue("held", "e", "confirmed");
+            for (int i = 0; i < 100; i++) {
+                outbox.markDelivered(outbox.enqueue("u" + i, "e", "confirmed"));
+            }
+
+            assertEquals(-1, outbox.enqueue("held", "e", "confirmed"));
+            assertEquals(-1, outbox.enqueue("u99", "e", "confirmed"));
+            // Long since pushed out of the window: a repeat is accepted again
+            long repeat = outbox.enqueue("u0", "e", "confirmed");
+            assertTrue(repeat > held);
+            outbox.markDelivered(repeat);
+        }
+
+        // Reloading from the file applies the same window
+        try (NotificationOutbox outbox = NotificationOutbox.open(file, 10)) {
+            assertEquals(1, outbox.getPendingCount());
+            assertEquals(-1, outbox.enqueue("held", "e", "confirmed"));
+            assertEquals(-1, outbox.enqueue("u0", "e", "confirmed"));
+            assertTrue(outbox.enqueue("u1", "e", "confirmed") > 0);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Snapshots are taken from and loaded into the shared EventManager, with a
+ * write-ahead log attached so each one covers a different LSN. Loading into
+ * a live manager stands in for a restart: the captured state is changed or
+ * removed first, and the load has to bring it back.
+ */
+class SnapshotStoreTest {
+
+    private final EventManager manager = EventManager.getInstance();
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadLog log;
+    private SnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        log = new WriteAheadLog(directory.resolve("wal"), false);
+        manager.attachStateLog(log);
+        store = new SnapshotStore(directory.resolve("snapshots"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        manager.attachStateLog(null);
+        log.close();
+    }
+
+    @Test
+    void loadRestoresRostersWaitlistsAndStudentRegistrations() throws IOException {
+        manager.addEvent(new LectureEvent("snap-1", "Snapshot", "", LocalDate.of(2026, 4, 1), "Hall", 1));
+        manager.registerUser(student("snap-s1"));
+        manager.registerUser(student("snap-s2"));
+        manager.registerUserForEvent("snap-s1", "snap-1");
+        manager.registerUserForEvent("snap-s2", "snap-1");
+
+        long lsn = store.write(manager);
+        assertEquals(log.appendedLsn(), lsn);
+
+        // Changes after the snapshot, which only the log would carry
+        manager.attachStateLog(null);
+        manager.cancelUserRegistration("snap-s1", "snap-1");
+        manager.removeEvent("snap-1");
+        assertNull(manager.getEvent("snap-1"));
+
+        assertEquals(lsn, store.loadLatest(manager));
+        assertEquals(List.of("snap-s1"), ids(manager.getEventParticipants("snap-1")));
+        assertEquals(List.of("snap-s2"), ids(manager.getEventWaitlist("snap-1")));
+        assertEquals(0, manager.getAvailableSeats("snap-1"));
+        assertEquals(List.of("snap-1"), ((Student) manager.getUser("snap-s1")).getRegisteredEvents());
+        assertTrue(((Student) manager.getUser("snap-s2")).getRegisteredEvents().isEmpty());
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToThePreviousOne() throws IOException {
+        manager.addEvent(new LectureEvent("snap-2", "First", "", LocalDate.of(2026, 4, 2), "Hall", 5));
+        long first = store.write(manager);
+        manager.addEvent(new LectureEvent("snap-3", "Second", "", LocalDate.of(2026, 4, 3), "Hall", 5));
+        long second = store.write(manager);
+        assertEquals(List.of(first, second), store.list());
+
+        // Flip a byte past the header so the body checksum no longer matches
+        Path newest = directory.resolve("snapshots").resolve(String.format("%020d.snap", second));
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer flipped = ByteBuffer.allocate(1);
+            channel.read(flipped, 40);
+            flipped.put(0, (byte) ~flipped.get(0)).rewind();
+            channel.write(flipped, 40);
+        }
+
+        assertEquals(first, store.loadLatest(manager));
+    }
+
+    @Test
+    void pruneKeepsTheNewestSnapshots() throws IOException {
+        manager.addEvent(new LectureEvent("snap-4", "Pruned", "", LocalDate.of(2026, 4, 4), "Hall", 5));
+        store.write(manager);
+        manager.addEvent(new LectureEvent("snap-5", "Kept", "", LocalDate.of(2026, 4, 5), "Hall", 5));
+        long second = store.write(manager);
+        manager.addEvent(new LectureEvent("snap-6", "Kept", "", LocalDate.of(2026, 4, 6), "Hall", 5));
+        long third = store.write(manager);
+
+        assertEquals(second, store.prune(2));
+        assertEquals(List.of(second, third), store.list());
+    }
+
+    private static Student student(String id) {
+        return new Student(id, "Student " + id, id + "@example.edu", id, "CS", 1);
+    }
+
+    private static List<String> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.event.SeminarEvent;
+import edu.neu.csye7374.event.WorkshopEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextEventImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private Path dump;
+    private List<EventAPI> exported;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        exported = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            LocalDate date = LocalDate.of(2025, 1, 1).plusDays(i);
+            switch (i % 3) {
+                case 0:
+                    exported.add(new LectureEvent("txt-" + i, "Lecture " + i, "Notes " + i, date, "Hall", i));
+                    break;
+                case 1:
+                    // Multi-byte text, so some window boundaries fall inside a character
+                    exported.add(new SeminarEvent("txt-" + i, "Séminaire " + i, null, date, "Salle été", 10 + i));
+                    break;
+                default:
+                    exported.add(new WorkshopEvent("txt-" + i, "Workshop " + i, "", date, null, 100 + i));
+                    break;
+            }
+        }
+        dump = directory.resolve("events.txt");
+        new TextEventExporter().export(exported, dump);
+    }
+
+    @Test
+    void everyWindowSizeParsesTheSameEvents() throws IOException {
+        long size = Files.size(dump);
+        List<String> expected = details(exported);
+        // From just over the largest block (each is well under 300 bytes) to the whole file
+        for (long window = 300; window <= size; window += 7) {
+            List<EventAPI> parsed = new ArrayList<>();
+            new TextEventImporter(dump, window).forEach(parsed::add);
+            assertEquals(expected, details(parsed), "window " + window);
+        }
+    }
+
+    @Test
+    void missingFieldsPrintedAsNullReadBackAsNull() throws IOException {
+        List<EventAPI> parsed = new ArrayList<>();
+        new TextEventImporter(dump).forEach(parsed::add);
+
+        assertEquals(exported.size(), parsed.size());
+        assertNull(parsed.get(1).getDescription());
+        assertNull(parsed.get(2).getLocation());
+        assertEquals("", parsed.get(2).getDescription());
+        assertEquals(SeminarEvent.class, parsed.get(1).getClass());
+        assertEquals(WorkshopEvent.class, parsed.get(2).getClass());
+    }
+
+    @Test
+    void blockLargerThanTheWindowIsRejected() {
+        assertThrows(IOException.class, () -> new TextEventImporter(dump, 64).forEach(event -> { }));
+    }
+
+    private static List<String> details(List<EventAPI> events) {
+        List<String> details = new ArrayList<>();
+        for (EventAPI event : events) {
+            details.add(event.getClass().getSimpleName() + " " + event.getDetails());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,192 @@
+package edu.neu.csye7374.persistence;
+
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.EventManager;
+import edu.neu.csye7374.manager.EventStateLog.RegistrationChange;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every test replays into the shared EventManager, so each one uses its own IDs
+ */
+class WriteAheadLogTest {
+
+    private final EventManager manager = EventManager.getInstance();
+
+    @TempDir
+    Path directory;
+
+    private static LectureEvent event(String id, String description) {
+        return new LectureEvent(id, "Lecture " + id, description, LocalDate.of(2026, 3, 1), "Hall", 10);
+    }
+
+    @Test
+    void oversizedRecordsAreRejectedOnAppend() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            String huge = new String(new char[2 << 20]).replace('\0', 'x');
+
+            assertThrows(IllegalArgumentException.class, () -> log.eventAdded(event("big", huge)));
+            assertEquals(0, log.appendedLsn());
+            assertTrue(log.eventAdded(event("small", "")) > 0);
+        }
+    }
+
+    @Test
+    void replayRestoresLoggedChanges() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            log.eventAdded(event("replay-1", ""));
+            log.userRegistered(student("replay-s1"));
+            log.registrationChanged(RegistrationChange.REGISTERED, "replay-s1", "replay-1");
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(3, log.replay(manager));
+        }
+        assertNotNull(manager.getEvent("replay-1"));
+        assertEquals(List.of("replay-s1"), ids(manager.getEventParticipants("replay-1")));
+        assertEquals(9, manager.getAvailableSeats("replay-1"));
+    }
+
+    @Test
+    void tornTailIsTruncatedAndAppendingContinuesAfterIt() throws IOException {
+        long intact;
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            log.eventAdded(event("torn-1", ""));
+            intact = log.eventAdded(event("torn-2", ""));
+        }
+        Path segment = onlySegment();
+        // A crash mid-write: a length prefix promising more bytes than follow
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(7).putInt(100).put((byte) 1).flip());
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(2, log.replay(manager));
+            assertEquals(intact, log.appendedLsn());
+            assertEquals(intact, Files.size(segment));
+            log.eventAdded(event("torn-3", ""));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(3, log.replay(manager));
+        }
+        assertNotNull(manager.getEvent("torn-3"));
+    }
+
+    @Test
+    void segmentsRollAtTheSizeLimitAndReplayInOrder() throws IOException {
+        // Sync commit flushes each record on its own, so every flush can roll
+        try (WriteAheadLog log = new WriteAheadLog(directory, true, 128)) {
+            for (int i = 0; i < 10; i++) {
+                log.awaitDurable(log.eventAdded(event("roll-" + i, "")));
+            }
+            log.awaitDurable(log.eventRemoved("roll-0"));
+        }
+        assertTrue(segments().size() > 1);
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(11, log.replay(manager));
+        }
+        assertNull(manager.getEvent("roll-0"));
+        assertNotNull(manager.getEvent("roll-9"));
+    }
+
+    @Test
+    void snapshotAheadOfTheLogStartsANewSegmentAtItsOffset() throws IOException {
+        long snapshotLsn = 5000;
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(0, log.replay(manager, snapshotLsn));
+            assertEquals(snapshotLsn, log.appendedLsn());
+            assertTrue(log.eventAdded(event("gap-1", "")) > snapshotLsn);
+        }
+        assertTrue(segments().contains(String.format("%020d.wal", snapshotLsn)));
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, false)) {
+            assertEquals(1, log.replay(manager, snapshotLsn));
+        }
+        assertNotNull(manager.getEvent("gap-1"));
+    }
+
+    private static Student student(String id) {
+        return new Student(id, "Student " + id, id + "@example.edu", id, "CS", 1);
+    }
+
+    private static List<String> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    private List<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void aFailedFlushFailsEveryWaiterAndLaterAppend() throws IOException {
+        Path gone = directory.resolve("sync");
+        // One-byte segments: the flusher rolls after its first write, into a directory that no longer exists
+        WriteAheadLog log = new WriteAheadLog(gone, true, 1);
+        deleteDirectory(gone);
+        long lsn = log.eventAdded(event("failed-1", ""));
+
+        assertThrows(UncheckedIOException.class, () -> log.awaitDurable(lsn));
+        assertThrows(UncheckedIOException.class, () -> log.awaitDurable(lsn));
+        assertThrows(UncheckedIOException.class, () -> log.eventAdded(event("failed-2", "")));
+        log.close();
+    }
+
+    @Test
+    void asyncCommitStillReportsAFailedLog() throws IOException, InterruptedException {
+        Path gone = directory.resolve("async");
+        WriteAheadLog log = new WriteAheadLog(gone, false, 1);
+        deleteDirectory(gone);
+        long lsn = log.eventAdded(event("failed-3", ""));
+
+        // Async callers never wait, so poll until the flusher has hit the error
+        boolean failed = false;
+        for (int i = 0; i < 200 && !failed; i++) {
+            try {
+                log.awaitDurable(lsn);
+                Thread.sleep(10);
+            } catch (UncheckedIOException e) {
+                failed = true;
+            }
+        }
+        assertTrue(failed);
+        log.close();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private Path onlySegment() throws IOException {
+        List<String> names = segments();
+        assertEquals(1, names.size());
+        return directory.resolve(names.get(0));
+    }
+}
@@ -0,0 +1,68 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.user.Student;
+import edu.neu.csye7374.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationServiceTest {
+
+    private static final LectureEvent EVENT =
+            new LectureEvent("ns-1", "History", "", LocalDate.of(2025, 4, 1), "Hall", 10);
+
+    private static Student student(String id) {
+        return new Student(id, "Student " + id, id + "@campus.edu", id, "CS", 1);
+    }
+
+    @Test
+    void totalCountsUserAndEventHistoryAndDropsWithClear() {
+        NotificationService service = new NotificationService();
+        User first = student("ns-a");
+        User second = student("ns-b");
+        service.sendWelcomeNotification(first);
+        service.sendRegistrationConfirmation(first, EVENT);
+        service.sendWelcomeNotification(second);
+        service.logNotification("ns-1", "Room changed");
+
+        assertEquals(4, service.getTotalNotificationsSent());
+
+        service.clearNotificationHistory("ns-a");
+        assertTrue(service.getNotificationHistory("ns-a").isEmpty());
+        assertEquals(2, service.getTotalNotificationsSent());
+        assertEquals(4, service.getNotificationsRecordedCount());
+    }
+
+    @Test
+    void historyKeepsTheNewestEntriesPerKey() {
+        NotificationService service = new NotificationService(2, 10, Duration.ofDays(1));
+        User user = student("ns-c");
+        service.sendEventUpdateNotification(user, EVENT, "first");
+        service.sendEventUpdateNotification(user, EVENT, "second");
+        service.sendEventUpdateNotification(user, EVENT, "third");
+
+        List<String> history = service.getNotificationHistory("ns-c");
+        assertEquals(2, history.size());
+        assertTrue(history.get(0).contains("second"), history.get(0));
+        assertTrue(history.get(1).contains("third"), history.get(1));
+        assertEquals(2, service.getTotalNotificationsSent());
+        assertEquals(3, service.getNotificationsRecordedCount());
+    }
+
+    @Test
+    void expiredEntriesLeaveHistory() throws InterruptedException {
+        NotificationService service = new NotificationService(10, 10, Duration.ofMillis(50));
+        service.logNotification("ns-2", "Soon gone");
+        assertEquals(1, service.getEventNotificationHistory("ns-2").size());
+
+        Thread.sleep(120);
+        assertTrue(service.getEventNotificationHistory("ns-2").isEmpty());
+        assertEquals(0, service.getTotalNotificationsSent());
+    }
+}
@@ -0,0 +1,137 @@
+package edu.neu.csye7374.service;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import edu.neu.csye7374.manager.EventManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 5, 1);
+
+    private static EventManager manager;
+    private static SearchService search;
+
+    @BeforeAll
+    static void setUp() {
+        manager = EventManager.getInstance();
+        search = new SearchService(manager);
+        // Same-day events added out of ID order, spread over a few days
+        manager.addEvent(new LectureEvent("d-c", "Networks", "routing", DAY, "Hall A", 30));
+        manager.addEvent(new LectureEvent("d-a", "Databases", "indexes", DAY, "Hall B", 120));
+        manager.addEvent(new LectureEvent("d-e", "Compilers", "parsing", DAY.plusDays(2), "Hall A", 30));
+        manager.addEvent(new LectureEvent("d-b", "Graphics", "shaders", DAY.plusDays(1), "Lab 1", 15));
+        manager.addEvent(new LectureEvent("d-d", "Security", "crypto", DAY, "Lab 2", 60));
+        manager.addEvent(new LectureEvent("d-f", "Robotics", "control", DAY.plusDays(9), "Lab 1", 15));
+    }
+
+    private static List<String> ids(List<EventAPI> events) {
+        return events.stream().map(EventAPI::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> expected(java.util.function.Predicate<EventAPI> filter) {
+        return ids(manager.getAllEvents().stream().filter(filter).collect(Collectors.toList()));
+    }
+
+    @Test
+    void dateRangeResultsFollowGetAllEventsOrder() {
+        List<String> found = ids(search.searchByDateRange(DAY, DAY.plusDays(2)));
+        assertEquals(List.of("d-e", "d-b", "d-a", "d-c", "d-d"), found);
+        assertEquals(expected(e -> !e.getDate().isAfter(DAY.plusDays(2))), found);
+        assertEquals(List.of("d-a", "d-c", "d-d"), ids(search.searchByDate(DAY)));
+    }
+
+    @Test
+    void capacityRangeResultsFollowGetAllEventsOrder() {
+        assertEquals(expected(e -> e.getCapacity() >= 15 && e.getCapacity() <= 60),
+                ids(search.searchByCapacityRange(15, 60)));
+        assertEquals(List.of(), ids(search.searchByCapacityRange(61, 119)));
+    }
+
+    @Test
+    void capacityIndexStaysConsistentUnderBulkAddAndRemove() {
+        CapacityIndex index = new CapacityIndex();
+        for (int ordinal = 0; ordinal < 200_000; ordinal++) {
+            index.eventAdded(ordinal, new LectureEvent("c" + ordinal, "T", "", DAY, "Hall", ordinal % 500));
+        }
+        assertEquals(200_000, index.count(0, Integer.MAX_VALUE));
+        assertEquals(400, index.count(10, 10));
+        for (int ordinal = 0; ordinal < 200_000; ordinal += 2) {
+            index.eventRemoved(ordinal, new LectureEvent("c" + ordinal, "T", "", DAY, "Hall", ordinal % 500));
+        }
+        // Even capacities held only even ordinals
+        assertEquals(0, index.count(10, 10));
+        int[] odd = index.search(11, 11);
+        assertEquals(400, odd.length);
+        for (int i = 1; i < odd.length; i++) {
+            assertTrue(odd[i - 1] < odd[i]);
+        }
+    }
+
+    @Test
+    void capacityRangesSpanDistinctCapacitiesAddedOutOfOrder() {
+        CapacityIndex index = new CapacityIndex();
+        int[] capacities = {50, 10, 30, 70, 20, 60, 40};
+        for (int ordinal = 0; ordinal < capacities.length; ordinal++) {
+            index.eventAdded(ordinal, new LectureEvent("k" + ordinal, "T", "", DAY, "Hall", capacities[ordinal]));
+        }
+        // Smallest capacity first: 20, 30, 40
+        assertArrayEquals(new int[] {4, 2, 6}, index.searchUnordered(15, 45));
+        assertEquals(0, index.count(45, 15));
+        assertEquals(0, index.count(71, 100));
+
+        // The last event at a capacity takes the capacity out of the index
+        index.eventRemoved(2, new LectureEvent("k2", "T", "", DAY, "Hall", 30));
+        assertArrayEquals(new int[] {4, 6}, index.searchUnordered(15, 45));
+        assertEquals(6, index.count(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void planFiltersCriteriaMuchLessSelectiveThanTheDriver() {
+        LocalDate far = LocalDate.of(2027, 1, 1);
+        for (int i = 0; i < 100; i++) {
+            manager.addEvent(new LectureEvent("p-" + i, i < 2 ? "Quantum Topics " + i : "Seminar " + i,
+                    "", far.plusDays(i % 10), "Plan Hall", 40));
+        }
+        SearchService.SearchCriteria criteria = new SearchService.SearchCriteria()
+                .withLocation("plan hall")
+                .withTitle("quantum");
+
+        SearchPlan plan = search.plan(criteria);
+        assertEquals(2, plan.getSteps().size());
+        assertEquals(SearchPlan.Access.INDEX, plan.getSteps().get(0).getAccess());
+        assertTrue(plan.getSteps().get(0).getDescription().startsWith("title"));
+        assertEquals(SearchPlan.Access.FILTER, plan.getSteps().get(1).getAccess());
+        assertTrue(plan.getSteps().get(1).getDescription().startsWith("location"));
+
+        List<EventAPI> found = search.execute(plan);
+        assertEquals(2, found.size());
+        assertEquals(expected(e -> e.getTitle().startsWith("Quantum")), ids(found));
+        String explain = plan.explain();
+        assertTrue(explain.contains("1. drive     title contains \"quantum\" (est. 2, actual 2)"), explain);
+        assertTrue(explain.contains("2. filter    location contains \"plan hall\""), explain);
+    }
+
+    @Test
+    void planIntersectsCriteriaOfSimilarSelectivity() {
+        SearchService.SearchCriteria criteria = new SearchService.SearchCriteria()
+                .withTitle("compilers")
+                .withCapacityRange(30, 30);
+
+        SearchPlan plan = search.plan(criteria);
+        for (SearchPlan.Step step : plan.getSteps()) {
+            assertEquals(SearchPlan.Access.INDEX, step.getAccess());
+        }
+        assertEquals(List.of("d-e"), ids(search.execute(plan)));
+        assertTrue(plan.explain().contains("intersect"), plan.explain());
+    }
+}
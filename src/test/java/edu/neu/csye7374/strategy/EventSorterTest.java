@@ -0,0 +1,66 @@
+package edu.neu.csye7374.strategy;
+
+import edu.neu.csye7374.event.EventAPI;
+import edu.neu.csye7374.event.LectureEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventSorterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private static List<EventAPI> events() {
+        List<EventAPI> events = new ArrayList<>();
+        events.add(new LectureEvent("e1", "Alpha", "", DAY, "Hall", 10));
+        events.add(new LectureEvent("e2", "Gamma", "", DAY.plusDays(1), "Hall", 10));
+        events.add(new LectureEvent("e3", "Beta", "", DAY, "Hall", 10));
+        events.add(new LectureEvent("e4", "Beta", "", DAY.plusDays(1), "Hall", 10));
+        return events;
+    }
+
+    private static List<String> ids(List<EventAPI> events) {
+        return events.stream().map(EventAPI::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void defaultOrderIsNewestFirstWithIdTieBreak() {
+        assertEquals(List.of("e2", "e4", "e1", "e3"), ids(new EventSorter().sortEvents(events())));
+    }
+
+    @Test
+    void perCallCompositeOrderLeavesTheDefaultAlone() {
+        EventSorter sorter = new EventSorter();
+        List<EventAPI> sorted = sorter.sortEvents(events(),
+                EventSorter.composite(new SortByTitle(), new SortByDate()));
+
+        // Title Z to A, then newest first among equal titles
+        assertEquals(List.of("e2", "e4", "e3", "e1"), ids(sorted));
+        assertEquals(List.of("e2", "e4", "e1", "e3"), ids(sorter.sortEvents(events())));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedSetterStillChangesTheDefaultOrder() {
+        EventSorter sorter = new EventSorter();
+        sorter.setSortStrategy(new SortByTitle());
+        assertEquals(List.of("e2", "e3", "e4", "e1"), ids(sorter.sortEvents(events())));
+    }
+
+    @Test
+    void parallelPathSortsLikeTheSequentialOne() {
+        List<EventAPI> many = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            many.add(new LectureEvent("p" + i, "T" + (i % 97), "", DAY.plusDays(i % 31), "Hall", 10));
+        }
+        EventSorter sequential = new EventSorter(new SortByTitle(), new SortByDate());
+        EventSorter parallel = sequential.withParallelThreshold(16);
+
+        assertEquals(ids(sequential.sortEvents(new ArrayList<>(many))), ids(parallel.sortEvents(new ArrayList<>(many))));
+    }
+}
@@ -0,0 +1,59 @@
+package edu.neu.csye7374.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongMapTest {
+
+    @Test
+    void matchesAHashMapUnderRandomPutsAndRemoves() {
+        LongMap<String> map = new LongMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // A narrow key range forces collisions, removals and reinsertions
+            long key = random.nextInt(5_000) - 2_500L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -2_500; key < 2_500; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void zeroAndExtremeKeysAreOrdinaryKeys() {
+        LongMap<String> map = new LongMap<>(2);
+        assertNull(map.get(0));
+        map.put(0, "zero");
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        assertEquals("zero", map.get(0));
+        assertEquals("min", map.computeIfAbsent(Long.MIN_VALUE, k -> "other"));
+        assertEquals("new", map.computeIfAbsent(7, k -> "new"));
+        assertEquals("max", map.remove(Long.MAX_VALUE));
+        assertTrue(map.containsKey(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void aNullFromComputeIfAbsentStoresNothing() {
+        LongMap<String> map = new LongMap<>();
+        assertNull(map.computeIfAbsent(7, k -> null));
+        assertEquals(0, map.size());
+        assertEquals("seven", map.computeIfAbsent(7, k -> "seven"));
+        assertEquals(1, map.size());
+    }
+}